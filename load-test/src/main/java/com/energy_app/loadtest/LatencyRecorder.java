@@ -0,0 +1,48 @@
+package com.energy_app.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/* Collects per-request latencies and status codes for one endpoint and one phase of the run. */
+public class LatencyRecorder {
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final String name;
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private final Map<Integer, Long> statusCounts = new TreeMap<>();
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(long latencyNanos, int status) {
+        if(count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        statusCounts.merge(status, 1L, Long::sum);
+    }
+
+    public synchronized String report(double seconds) {
+        if(count == 0) {
+            return String.format("%-28s no requests", name);
+        }
+
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+
+        StringBuilder line = new StringBuilder(String.format("%-28s %8d req %9.1f req/s", name, count, count / seconds));
+        for(double percentile : PERCENTILES) {
+            int index = (int) Math.min(count - 1, Math.ceil(percentile / 100.0 * count) - 1);
+            line.append(String.format("  p%-4s %8.2f ms", trim(percentile), sorted[Math.max(0, index)] / 1e6));
+        }
+        line.append(String.format("  max %8.2f ms  status %s", sorted[count - 1] / 1e6, statusCounts));
+        return line.toString();
+    }
+
+    private static String trim(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,254 @@
+package com.energy_app.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* Drives the full HTTP stack of the packaged app against StubCarbonIntensityServer and reports throughput and
+  latency percentiles per endpoint.
+
+  Traffic mix: --mix-share of requests go to /mix, the rest to /optimal-charging with 1-6 hours; a fifth of
+  requests use a custom cleanFuels set and a tenth ask for CBOR. With --rate the load is open-loop (latency is
+  measured from the scheduled start, so queueing is not hidden); otherwise --concurrency workers run closed-loop.
+  With --span-rollover the run is aligned so a half-hour boundary falls inside the measurement, when the
+  /optimal-charging range and its cache key change, and results are split into before and after the boundary. */
+public class LoadTest {
+    private static final String[] CLEAN_FUEL_SETS = {"wind,solar", "wind,solar,hydro", "nuclear,wind", "biomass,wind"};
+
+    private final LoadTestOptions options;
+    private final HttpClient httpClient;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestOptions.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        try(StubCarbonIntensityServer stub = new StubCarbonIntensityServer(options.stubPort(),
+                options.stubLatencyMillis(), options.stubJitterMillis(), options.stubErrorRate(),
+                options.stubPaddingBytes())) {
+            stub.start();
+            System.out.printf("Stub upstream on port %d (latency %d ms + jitter %d ms, error rate %.3f, padding %d B)%n",
+                    stub.port(), options.stubLatencyMillis(), options.stubJitterMillis(), options.stubErrorRate(),
+                    options.stubPaddingBytes());
+
+            Process app = null;
+            String appUrl = options.appUrl();
+            if(appUrl == null) {
+                app = startApp(stub.port());
+                appUrl = "http://127.0.0.1:" + options.appPort();
+            }
+
+            try {
+                awaitReady(appUrl, app);
+
+                if(options.spanRollover()) {
+                    alignToRollover();
+                }
+
+                System.out.printf("Warm-up for %s%n", options.warmUp());
+                drive(appUrl, options.warmUp(), null);
+
+                long stubRequestsBefore = stub.requests();
+                Instant boundary = options.spanRollover() ? nextHalfHour(Instant.now()) : null;
+                System.out.printf("Measuring for %s%n", options.duration());
+                long started = System.nanoTime();
+                Recorders recorders = drive(appUrl, options.duration(), boundary);
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                System.out.println();
+                recorders.print(seconds, boundary);
+                System.out.printf("Upstream calls during measurement: %d (stub errors so far: %d)%n",
+                        stub.requests() - stubRequestsBefore, stub.errors());
+            } finally {
+                if(app != null) {
+                    app.destroy();
+                    app.waitFor(30, TimeUnit.SECONDS);
+                }
+            }
+        }
+    }
+
+    private Process startApp(int stubPort) throws IOException {
+        Path jar = options.appJar();
+        if(!Files.exists(jar)) {
+            throw new IllegalStateException("App jar not found at " + jar.toAbsolutePath()
+                    + "; build it with ./mvnw package -DskipTests or pass --app-jar / --app-url");
+        }
+
+        Path log = Path.of("target", "app.log");
+        Files.createDirectories(log.getParent());
+        System.out.printf("Starting %s (log: %s)%n", jar, log.toAbsolutePath());
+
+        return new ProcessBuilder(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--server.port=" + options.appPort(),
+                "--carbon-intensity.base-url=http://127.0.0.1:" + stubPort))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    /* Readiness includes the app's cache and JIT warm-up, so measurement never starts against a cold instance. */
+    private void awaitReady(String appUrl, Process app) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(appUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+
+        while(System.nanoTime() < deadline) {
+            if(app != null && !app.isAlive()) {
+                throw new IllegalStateException("App exited with code " + app.exitValue() + "; see target/app.log");
+            }
+            try {
+                if(httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    System.out.println("App is ready");
+                    return;
+                }
+            } catch (IOException exception) {
+                // not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("App did not become ready in time");
+    }
+
+    /* Waits so that the boundary falls a third of the way into the measurement. */
+    private void alignToRollover() throws InterruptedException {
+        Instant now = Instant.now();
+        Instant boundary = nextHalfHour(now);
+        Instant start = boundary.minus(options.duration().dividedBy(3)).minus(options.warmUp());
+        if(start.isBefore(now)) {
+            boundary = boundary.plus(Duration.ofMinutes(30));
+            start = start.plus(Duration.ofMinutes(30));
+        }
+        Duration wait = Duration.between(now, start);
+        System.out.printf("Waiting %d s so the %s half-hour rollover falls inside the measurement%n",
+                wait.toSeconds(), boundary);
+        Thread.sleep(wait.toMillis());
+    }
+
+    private Recorders drive(String appUrl, Duration duration, Instant boundary) throws InterruptedException {
+        Recorders recorders = new Recorders();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicLong scheduled = new AtomicLong();
+        long intervalNanos = options.rate() > 0 ? (long) (1e9 / options.rate()) : 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        for(int w = 0; w < options.concurrency(); w++) {
+            workers.submit(() -> {
+                while(true) {
+                    long intendedStart;
+                    if(intervalNanos > 0) {
+                        intendedStart = start + scheduled.getAndIncrement() * intervalNanos;
+                        long delay = intendedStart - System.nanoTime();
+                        if(delay > 0) {
+                            TimeUnit.NANOSECONDS.sleep(delay);
+                        }
+                    } else {
+                        intendedStart = System.nanoTime();
+                    }
+                    if(intendedStart >= end) {
+                        return null;
+                    }
+                    sendOne(appUrl, intendedStart, recorders, boundary);
+                }
+            });
+        }
+        workers.shutdown();
+        if(!workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        return recorders;
+    }
+
+    private void sendOne(String appUrl, long intendedStart, Recorders recorders, Instant boundary) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean mix = random.nextDouble() < options.mixShare();
+        StringBuilder path = new StringBuilder(appUrl).append("/api/v1/energy/");
+        char separator = '?';
+        if(mix) {
+            path.append("mix");
+        } else {
+            path.append("optimal-charging?numberOfHours=").append(1 + random.nextInt(6));
+            separator = '&';
+        }
+        if(random.nextInt(5) == 0) {
+            path.append(separator).append("cleanFuels=").append(CLEAN_FUEL_SETS[random.nextInt(CLEAN_FUEL_SETS.length)]);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(path.toString()))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", random.nextInt(10) == 0 ? "application/cbor" : "application/json")
+                .build();
+
+        int status;
+        try {
+            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException exception) {
+            status = -1;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        long latency = System.nanoTime() - intendedStart;
+        boolean afterBoundary = boundary != null && !Instant.now().isBefore(boundary);
+        recorders.get(mix, afterBoundary).record(latency, status);
+    }
+
+    private static Instant nextHalfHour(Instant instant) {
+        OffsetDateTime time = instant.atOffset(ZoneOffset.UTC);
+        OffsetDateTime floor = time.withMinute(time.getMinute() < 30 ? 0 : 30).withSecond(0).withNano(0);
+        return floor.plusMinutes(30).toInstant();
+    }
+
+    /* Status -1 in reports means a connection error or client timeout. */
+    private static class Recorders {
+        private final LatencyRecorder mixBefore = new LatencyRecorder("/mix");
+        private final LatencyRecorder optimalBefore = new LatencyRecorder("/optimal-charging");
+        private final LatencyRecorder mixAfter = new LatencyRecorder("/mix (after rollover)");
+        private final LatencyRecorder optimalAfter = new LatencyRecorder("/optimal-charging (after rollover)");
+
+        LatencyRecorder get(boolean mix, boolean afterBoundary) {
+            if(afterBoundary) {
+                return mix ? mixAfter : optimalAfter;
+            }
+            return mix ? mixBefore : optimalBefore;
+        }
+
+        void print(double seconds, Instant boundary) {
+            List<LatencyRecorder> recorders = new ArrayList<>(List.of(mixBefore, optimalBefore));
+            if(boundary != null) {
+                System.out.println("Rollover at " + boundary + "; rates below are over the whole measurement");
+                recorders.add(mixAfter);
+                recorders.add(optimalAfter);
+            }
+            recorders.forEach(recorder -> System.out.println(recorder.report(seconds)));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.energy_app.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/* Command line options as --name value pairs; every option has a default so a bare run works out of the box. */
+public record LoadTestOptions(
+        Path appJar,
+        String appUrl,
+        int appPort,
+        int stubPort,
+        long stubLatencyMillis,
+        long stubJitterMillis,
+        double stubErrorRate,
+        int stubPaddingBytes,
+        Duration warmUp,
+        Duration duration,
+        int concurrency,
+        double rate,
+        double mixShare,
+        boolean spanRollover
+) {
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for(int i = 0; i < args.length; i++) {
+            if(!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            values.put(name, hasValue ? args[++i] : "true");
+        }
+
+        return new LoadTestOptions(
+                Path.of(values.getOrDefault("app-jar", "../target/energy-app-backend-0.0.1-SNAPSHOT.jar")),
+                values.get("app-url"),
+                Integer.parseInt(values.getOrDefault("app-port", "18080")),
+                Integer.parseInt(values.getOrDefault("stub-port", "0")),
+                Long.parseLong(values.getOrDefault("stub-latency-ms", "150")),
+                Long.parseLong(values.getOrDefault("stub-jitter-ms", "100")),
+                Double.parseDouble(values.getOrDefault("stub-error-rate", "0.01")),
+                Integer.parseInt(values.getOrDefault("stub-padding-bytes", "0")),
+                parseDuration(values.getOrDefault("warm-up", "10s")),
+                parseDuration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                Double.parseDouble(values.getOrDefault("rate", "0")),
+                Double.parseDouble(values.getOrDefault("mix-share", "0.3")),
+                Boolean.parseBoolean(values.getOrDefault("span-rollover", "false"))
+        );
+    }
+
+    /* Accepts 500ms, 30s, 5m or an ISO-8601 duration. */
+    private static Duration parseDuration(String value) {
+        if(value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if(value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if(value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
@@ -0,0 +1,195 @@
+package com.energy_app.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* Local stand-in for GET /generation/{from}/{to} of the Carbon Intensity API. Returns one half-hour slot per
+  interval in the requested range with a deterministic generation mix, after a configurable latency (plus uniform
+  jitter). A configurable share of requests fails with 500, and every slot can be padded with an ignored field to
+  emulate larger payloads. */
+public class StubCarbonIntensityServer implements AutoCloseable {
+    private static final String[] FUELS = {"gas", "coal", "biomass", "nuclear", "hydro", "wind", "solar", "imports",
+            "other"};
+    private static final DateTimeFormatter SLOT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mmX");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final String padding;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public StubCarbonIntensityServer(int port, long latencyMillis, long jitterMillis, double errorRate,
+                                     int paddingBytesPerSlot) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.padding = "x".repeat(paddingBytesPerSlot);
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 256);
+        this.server.createContext("/generation/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try(exchange) {
+            sleep(latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0));
+
+            if(ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            if(parts.length < 4) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            byte[] body;
+            try {
+                body = generationMix(parse(parts[2]), parse(parts[3])).getBytes(StandardCharsets.UTF_8);
+            } catch (DateTimeParseException exception) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try(OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /* Like the real API, the first slot is the one ending at or after "from", so a range starting at midnight
+      includes the 23:30 slot of the previous day. */
+    private String generationMix(OffsetDateTime from, OffsetDateTime to) {
+        OffsetDateTime slot = floorToHalfHour(from);
+        if(slot.equals(from)) {
+            slot = slot.minusMinutes(30);
+        }
+
+        StringBuilder json = new StringBuilder(4096).append("{\"data\":[");
+        boolean first = true;
+        while(slot.isBefore(to)) {
+            OffsetDateTime end = slot.plusMinutes(30);
+            if(!first) {
+                json.append(',');
+            }
+            first = false;
+
+            json.append("{\"from\":\"").append(SLOT_FORMAT.format(slot))
+                    .append("\",\"to\":\"").append(SLOT_FORMAT.format(end))
+                    .append("\",\"generationmix\":[");
+            appendMix(json, slot);
+            json.append(']');
+            if(!padding.isEmpty()) {
+                json.append(",\"padding\":\"").append(padding).append('"');
+            }
+            json.append('}');
+            slot = end;
+        }
+        return json.append("]}").toString();
+    }
+
+    /* Deterministic per slot so repeated fetches of the same range agree, with a daily solar and wind cycle. */
+    private static void appendMix(StringBuilder json, OffsetDateTime slot) {
+        double hour = slot.getHour() + slot.getMinute() / 60.0;
+        long seed = slot.toEpochSecond() / 1800;
+        double[] weights = new double[FUELS.length];
+        for(int f = 0; f < FUELS.length; f++) {
+            weights[f] = 5.0 + Math.floorMod(seed * 31 + f * 17, 23);
+        }
+        weights[5] += 30.0 * (1.0 + Math.sin(seed / 7.0));
+        weights[6] += Math.max(0.0, 25.0 * Math.sin((hour - 6.0) / 12.0 * Math.PI));
+
+        double total = 0.0;
+        for(double weight : weights) {
+            total += weight;
+        }
+
+        for(int f = 0; f < FUELS.length; f++) {
+            if(f > 0) {
+                json.append(',');
+            }
+            double percentage = Math.round(weights[f] / total * 1000.0) / 10.0;
+            json.append("{\"fuel\":\"").append(FUELS[f]).append("\",\"perc\":").append(percentage).append('}');
+        }
+    }
+
+    /* The app sends LocalDateTime (for /mix) or OffsetDateTime (for /optimal-charging) strings. */
+    private static OffsetDateTime parse(String value) {
+        try {
+            return OffsetDateTime.parse(value);
+        } catch (DateTimeParseException exception) {
+            return LocalDateTime.parse(value).atOffset(ZoneOffset.UTC);
+        }
+    }
+
+    private static OffsetDateTime floorToHalfHour(OffsetDateTime time) {
+        return time.withMinute(time.getMinute() < 30 ? 0 : 30).withSecond(0).withNano(0);
+    }
+
+    private static void sleep(long millis) {
+        if(millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* Runs the stub on its own, e.g. for manual testing: java ... StubCarbonIntensityServer --stub-port 9090 */
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        StubCarbonIntensityServer stub = new StubCarbonIntensityServer(options.stubPort(), options.stubLatencyMillis(),
+                options.stubJitterMillis(), options.stubErrorRate(), options.stubPaddingBytes());
+        stub.start();
+        System.out.println("Stub Carbon Intensity API listening on http://127.0.0.1:" + stub.port());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Measures time from process launch to the first successful HTTP response.
+#
+# Usage: scripts/measure-startup.sh <jar|cds|native> [runs]
+#   jar    - fat jar from `mvn package`
+#   cds    - extracted jar with AppCDS archive from `mvn -Pcds package`
+#   native - native executable from `mvn -Pnative native:compile`
+set -euo pipefail
+
+MODE="${1:?usage: $0 <jar|cds|native> [runs]}"
+RUNS="${2:-5}"
+PORT="${PORT:-18080}"
+URL="http://localhost:${PORT}/"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="${ROOT}/target"
+WORKDIR="$ROOT"
+
+case "$MODE" in
+  jar)
+    JAR="$(ls "${TARGET}"/energy-app-backend-*.jar | grep -v '\.original$' | head -n 1)"
+    CMD=(java -jar "$JAR")
+    ;;
+  cds)
+    # The archive only matches the class path it was recorded with: the jar name relative to target/cds.
+    WORKDIR="${TARGET}/cds"
+    JAR="$(cd "$WORKDIR" && ls energy-app-backend-*.jar | head -n 1)"
+    CMD=(java -XX:SharedArchiveFile=application.jsa -jar "$JAR")
+    ;;
+  native)
+    CMD=("${TARGET}/energy-app-backend")
+    ;;
+  *)
+    echo "Unknown mode: $MODE" >&2
+    exit 1
+    ;;
+esac
+
+now_ms() {
+  date +%s%3N
+}
+
+total=0
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  (cd "$WORKDIR" && exec "${CMD[@]}" --server.port="$PORT") > /dev/null 2>&1 &
+  pid=$!
+
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Application exited before responding" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - start ))
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+
+  echo "run ${run}: ${elapsed} ms"
+  total=$(( total + elapsed ))
+done
+
+echo "${MODE}: mean time to first response $(( total / RUNS )) ms over ${RUNS} runs"
@@ -0,0 +1,72 @@
+package com.energy_app.benchmark;
+
+import com.energy_app.config.BinaryEncoding;
+import com.energy_app.model.dto.DailyMixDto;
+import com.energy_app.model.dto.FuelDto;
+import com.energy_app.model.enumeration.FuelType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/* Compares the /mix payload encoded as JSON (current default) and as CBOR with ordinal fuel types.
+  Payload sizes are printed once per trial. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param({"3", "30"})
+    private int days;
+
+    private final ObjectMapper jsonMapper = JsonMapper.builder().build();
+    private final ObjectMapper cborMapper = BinaryEncoding.cborMapper();
+
+    private List<DailyMixDto> payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate day = LocalDate.of(2025, 12, 19);
+        FuelType[] fuelTypes = FuelType.values();
+        payload = new ArrayList<>(days);
+
+        for(int d = 0; d < days; d++) {
+            List<FuelDto> metrics = new ArrayList<>(fuelTypes.length);
+            for(int f = 0; f < fuelTypes.length; f++) {
+                metrics.add(new FuelDto(fuelTypes[f], Math.round((f * 7.31 + d) % 40 * 100.0) / 100.0));
+            }
+            payload.add(new DailyMixDto(day.plusDays(d).toString(), metrics, 55.55));
+        }
+
+        System.out.printf("%n[days=%d] JSON %d bytes, CBOR %d bytes%n", days,
+                jsonMapper.writeValueAsBytes(payload).length, cborMapper.writeValueAsBytes(payload).length);
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return jsonMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] cbor() {
+        return cborMapper.writeValueAsBytes(payload);
+    }
+}
@@ -0,0 +1,98 @@
+package com.energy_app.benchmark;
+
+import com.energy_app.kernel.WindowKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/* Scalar vs Vector API kernels on the clean-share pipeline: per-fuel prefix sums, the clean-fuel column sum, the
+  optimal window scan and the full (start slot, duration) heatmap. 96 slots is the default 48-hour search window;
+  larger sizes show where the vectorized path starts to pay off. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class WindowKernelsBenchmark {
+    private static final int FUELS = 9;
+    private static final int[] CLEAN = {2, 3, 4, 5, 6};
+
+    @Param({"96", "672", "2880"})
+    private int slots;
+
+    @Param({"scalar", "vector"})
+    private String kernels;
+
+    private WindowKernels windowKernels;
+    private double[][] percentageByFuel;
+    private double[][] prefixByFuel;
+    private double[] cleanPrefix;
+    private double[] scratch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        windowKernels = WindowKernels.select("vector".equals(kernels));
+        if(!windowKernels.name().startsWith(kernels)) {
+            throw new IllegalStateException("Requested " + kernels + " kernels but got " + windowKernels.name());
+        }
+
+        Random random = new Random(42);
+        percentageByFuel = new double[FUELS][slots];
+        prefixByFuel = new double[FUELS][slots + 1];
+        for(int f = 0; f < FUELS; f++) {
+            for(int i = 0; i < slots; i++) {
+                percentageByFuel[f][i] = Math.round(random.nextDouble() * 200.0) / 10.0;
+            }
+            windowKernels.prefixSum(percentageByFuel[f], slots, prefixByFuel[f]);
+        }
+        cleanPrefix = new double[slots + 1];
+        windowKernels.sumColumns(prefixByFuel, CLEAN, slots + 1, cleanPrefix);
+        scratch = new double[slots + 1];
+    }
+
+    @Benchmark
+    public double[][] prefixSums() {
+        for(int f = 0; f < FUELS; f++) {
+            windowKernels.prefixSum(percentageByFuel[f], slots, prefixByFuel[f]);
+        }
+        return prefixByFuel;
+    }
+
+    @Benchmark
+    public double[] cleanColumnSum() {
+        windowKernels.sumColumns(prefixByFuel, CLEAN, slots + 1, scratch);
+        return scratch;
+    }
+
+    /* The /optimal-charging scan for a 3-hour window. */
+    @Benchmark
+    public int optimalWindow() {
+        int count = slots - 6 + 1;
+        windowKernels.windowDifferences(cleanPrefix, 6, 1.0, count, scratch);
+        return windowKernels.argMax(scratch, count);
+    }
+
+    /* Every (start slot, duration) pair, as computed for /heatmap before rounding. */
+    @Benchmark
+    public void heatmap(Blackhole blackhole) {
+        for(int window = 1; window <= slots; window++) {
+            int count = slots - window + 1;
+            windowKernels.windowDifferences(cleanPrefix, window, 1.0 / window, count, scratch);
+            blackhole.consume(scratch);
+        }
+    }
+}
@@ -5,10 +5,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableConfigurationProperties(CarbonIntensityApiProperties.class)
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 public class EnergyAppApplication {
 
 	public static void main(String[] args) {
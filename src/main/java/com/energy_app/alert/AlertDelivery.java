@@ -0,0 +1,10 @@
+package com.energy_app.alert;
+
+import com.energy_app.model.dto.AlertNotificationDto;
+
+import java.net.URI;
+
+/* Sends one notification to a subscriber. Implementations should not throw for delivery failures they can log. */
+public interface AlertDelivery {
+    void deliver(URI callbackUrl, AlertNotificationDto notification);
+}
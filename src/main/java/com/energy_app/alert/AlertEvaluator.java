@@ -0,0 +1,92 @@
+package com.energy_app.alert;
+
+import com.energy_app.kernel.WindowKernels;
+import com.energy_app.service.EnergyService;
+import com.energy_app.service.ForecastRefreshedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* Evaluates alert subscriptions whenever a new optimal-charging snapshot is built, on a single background thread
+  so the request that fetched the data is not held up, and hands notifications to a small delivery pool. A
+  periodic refresh keeps snapshots coming while subscriptions exist but nobody calls the API. */
+@Component
+public class AlertEvaluator implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AlertEvaluator.class);
+
+    private final AlertRegistry alertRegistry;
+    private final AlertDelivery alertDelivery;
+    private final WindowKernels windowKernels;
+    private final EnergyService energyService;
+
+    private final ExecutorService evaluationExecutor = Executors.newSingleThreadExecutor(daemon("alert-evaluation"));
+    private final ExecutorService deliveryExecutor;
+
+    public AlertEvaluator(AlertRegistry alertRegistry,
+                          AlertDelivery alertDelivery,
+                          WindowKernels windowKernels,
+                          EnergyService energyService,
+                          @Value("${energy.app.alerts.delivery-threads:8}") int deliveryThreads) {
+        this.alertRegistry = alertRegistry;
+        this.alertDelivery = alertDelivery;
+        this.windowKernels = windowKernels;
+        this.energyService = energyService;
+        this.deliveryExecutor = Executors.newFixedThreadPool(deliveryThreads, daemon("alert-delivery"));
+    }
+
+    @EventListener
+    public void onForecastRefreshed(ForecastRefreshedEvent event) {
+        if(alertRegistry.size() == 0) {
+            return;
+        }
+        evaluationExecutor.execute(() -> evaluate(event));
+    }
+
+    @Scheduled(initialDelayString = "${energy.app.alerts.refresh-interval:5m}",
+            fixedDelayString = "${energy.app.alerts.refresh-interval:5m}")
+    public void refresh() {
+        if(alertRegistry.size() == 0) {
+            return;
+        }
+        try {
+            energyService.refreshOptimalChargingData();
+        } catch (RuntimeException exception) {
+            logger.warn("Scheduled forecast refresh for alerts failed: {}", exception.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        evaluationExecutor.shutdownNow();
+        deliveryExecutor.shutdownNow();
+    }
+
+    void evaluate(ForecastRefreshedEvent event) {
+        long started = System.nanoTime();
+        List<AlertRegistry.Notification> notifications = alertRegistry.evaluate(event.prefixSums(), windowKernels);
+        logger.debug("Evaluated {} alert subscriptions in {} us, {} notifications", alertRegistry.size(),
+                (System.nanoTime() - started) / 1000, notifications.size());
+
+        for(AlertRegistry.Notification notification : notifications) {
+            deliveryExecutor.execute(() -> alertDelivery.deliver(notification.callbackUrl(), notification.body()));
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
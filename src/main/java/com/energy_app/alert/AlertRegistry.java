@@ -0,0 +1,214 @@
+package com.energy_app.alert;
+
+import com.energy_app.exception.SubscriptionLimitException;
+import com.energy_app.kernel.WindowKernels;
+import com.energy_app.model.dto.AlertNotificationDto;
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.service.FuelPrefixSums;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* In-memory alert subscriptions, grouped so that a refresh costs one window scan per (clean fuels, duration) and one
+  binary search per distinct threshold, however many subscriptions share them. Each threshold group remembers the
+  start of the earliest qualifying window it last announced; subscribers are only notified when that changes.
+  Subscriptions are unauthenticated and held in memory, so their number is capped. */
+@Component
+public class AlertRegistry {
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final int maxSubscriptions;
+    private final Map<String, AlertSubscription> subscriptions = new ConcurrentHashMap<>();
+
+    /* Guarded by this. */
+    private final Map<WindowKey, NavigableMap<Double, ThresholdGroup>> groups = new HashMap<>();
+
+    public AlertRegistry(@Value("${energy.app.alerts.max-subscriptions:10000}") int maxSubscriptions) {
+        this.maxSubscriptions = maxSubscriptions;
+    }
+
+    public synchronized AlertSubscription subscribe(final int durationHours, final double thresholdPercent,
+                                                    final Set<FuelType> cleanFuels, final URI callbackUrl) {
+        if(subscriptions.size() >= maxSubscriptions) {
+            throw new SubscriptionLimitException("Subscription limit of " + maxSubscriptions + " reached.");
+        }
+        AlertSubscription subscription = new AlertSubscription(UUID.randomUUID().toString(), durationHours,
+                thresholdPercent, Set.copyOf(cleanFuels), callbackUrl);
+        groups.computeIfAbsent(new WindowKey(subscription.cleanFuels(), durationHours), k -> new TreeMap<>())
+                .computeIfAbsent(thresholdPercent, t -> new ThresholdGroup())
+                .pending.put(subscription.id(), subscription);
+        subscriptions.put(subscription.id(), subscription);
+        return subscription;
+    }
+
+    public synchronized boolean unsubscribe(final String id) {
+        AlertSubscription subscription = subscriptions.remove(id);
+        if(subscription == null) {
+            return false;
+        }
+        WindowKey key = new WindowKey(subscription.cleanFuels(), subscription.durationHours());
+        NavigableMap<Double, ThresholdGroup> thresholds = groups.get(key);
+        ThresholdGroup group = thresholds.get(subscription.thresholdPercent());
+        group.members.remove(id);
+        group.pending.remove(id);
+        if(group.isEmpty()) {
+            thresholds.remove(subscription.thresholdPercent());
+            if(thresholds.isEmpty()) {
+                groups.remove(key);
+            }
+        }
+        return true;
+    }
+
+    public Optional<AlertSubscription> find(final String id) {
+        return Optional.ofNullable(subscriptions.get(id));
+    }
+
+    public int size() {
+        return subscriptions.size();
+    }
+
+    /* Evaluates every subscription against a snapshot and returns the notifications to send. Subscriptions added
+      since the previous evaluation are notified if a qualifying window exists. */
+    public synchronized List<Notification> evaluate(final FuelPrefixSums prefixSums, final WindowKernels kernels) {
+        List<Notification> notifications = new ArrayList<>();
+        if(prefixSums.size() == 0) {
+            return notifications;
+        }
+        long horizonStart = epochSecond(prefixSums.interval(0).from());
+        Map<Set<FuelType>, double[]> cleanPrefixes = new HashMap<>();
+
+        for(Map.Entry<WindowKey, NavigableMap<Double, ThresholdGroup>> entry : groups.entrySet()) {
+            WindowKey key = entry.getKey();
+            int windowSize = key.durationHours() * 2;
+            int windowCount = Math.max(prefixSums.size() - windowSize + 1, 0);
+            double[] averages = new double[windowCount];
+            if(windowCount > 0) {
+                double[] cleanPrefix = cleanPrefixes.computeIfAbsent(key.cleanFuels(), prefixSums::cleanPrefix);
+                kernels.windowDifferences(cleanPrefix, windowSize, 1.0 / windowSize, windowCount, averages);
+            }
+            RunningMaxima maxima = RunningMaxima.of(averages);
+
+            for(Map.Entry<Double, ThresholdGroup> thresholdEntry : entry.getValue().entrySet()) {
+                int startIndex = maxima.firstIndexAtLeast(thresholdEntry.getKey());
+                AlertWindow window = startIndex < 0 ? null
+                        : new AlertWindow(prefixSums.interval(startIndex).from(),
+                        prefixSums.interval(startIndex + windowSize - 1).to(), averages[startIndex]);
+                thresholdEntry.getValue().update(window, horizonStart, key.durationHours() * 3600L, notifications);
+            }
+        }
+        return notifications;
+    }
+
+    private static long epochSecond(final String timestamp) {
+        return OffsetDateTime.parse(timestamp).toEpochSecond();
+    }
+
+    public record Notification(
+            URI callbackUrl,
+            AlertNotificationDto body
+    ) {
+    }
+
+    private record WindowKey(
+            Set<FuelType> cleanFuels,
+            int durationHours
+    ) {
+    }
+
+    private record AlertWindow(
+            String start,
+            String end,
+            double averagePercentage
+    ) {
+    }
+
+    private static class ThresholdGroup {
+        private final Map<String, AlertSubscription> members = new LinkedHashMap<>();
+        private final Map<String, AlertSubscription> pending = new LinkedHashMap<>();
+        private long announcedStart = NONE;
+
+        boolean isEmpty() {
+            return members.isEmpty() && pending.isEmpty();
+        }
+
+        /* A window that already began, is still running and still qualifies from the first slot of the new horizon
+          is the same window seen later, not a new one. Once the announced window has ended, a window at the start
+          of the horizon is new (e.g. after refreshes failed for a while). */
+        void update(final AlertWindow window, final long horizonStart, final long windowSeconds,
+                    final List<Notification> notifications) {
+            long start = window == null ? NONE : epochSecond(window.start());
+            boolean continuing = start == horizonStart && announcedStart != NONE && announcedStart < horizonStart
+                    && announcedStart + windowSeconds > horizonStart;
+
+            if(!continuing && start != announcedStart) {
+                members.values().forEach(subscription -> notifications.add(notification(subscription, window)));
+                announcedStart = start;
+            }
+            if(window != null) {
+                pending.values().forEach(subscription -> notifications.add(notification(subscription, window)));
+            }
+            members.putAll(pending);
+            pending.clear();
+        }
+
+        private static Notification notification(final AlertSubscription subscription, final AlertWindow window) {
+            AlertNotificationDto body = window == null
+                    ? new AlertNotificationDto(subscription.id(), subscription.durationHours(),
+                    subscription.thresholdPercent(), false, null, null, null)
+                    : new AlertNotificationDto(subscription.id(), subscription.durationHours(),
+                    subscription.thresholdPercent(), true, window.start(), window.end(),
+                    Math.round(window.averagePercentage() * 100.0) / 100.0);
+            return new Notification(subscription.callbackUrl(), body);
+        }
+    }
+
+    /* Indices where the running maximum of the averages strictly increases. The first window reaching a threshold
+      is always one of them, and their values are sorted, so it can be found by binary search. */
+    private record RunningMaxima(
+            int[] indices,
+            double[] values,
+            int size
+    ) {
+        static RunningMaxima of(final double[] averages) {
+            int[] indices = new int[averages.length];
+            double[] values = new double[averages.length];
+            int size = 0;
+            for(int i = 0; i < averages.length; i++) {
+                if(size == 0 || averages[i] > values[size - 1]) {
+                    indices[size] = i;
+                    values[size] = averages[i];
+                    size++;
+                }
+            }
+            return new RunningMaxima(indices, values, size);
+        }
+
+        int firstIndexAtLeast(final double threshold) {
+            int low = 0;
+            int high = size;
+            while(low < high) {
+                int mid = (low + high) >>> 1;
+                if(values[mid] >= threshold) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low < size ? indices[low] : -1;
+        }
+    }
+}
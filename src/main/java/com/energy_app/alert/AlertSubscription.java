@@ -0,0 +1,15 @@
+package com.energy_app.alert;
+
+import com.energy_app.model.enumeration.FuelType;
+
+import java.net.URI;
+import java.util.Set;
+
+public record AlertSubscription(
+        String id,
+        int durationHours,
+        double thresholdPercent,
+        Set<FuelType> cleanFuels,
+        URI callbackUrl
+) {
+}
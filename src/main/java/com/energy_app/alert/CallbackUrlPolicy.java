@@ -0,0 +1,68 @@
+package com.energy_app.alert;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+
+/* Decides which callback URLs the server may POST to. The subscription API is unauthenticated, so by default
+  callbacks must not resolve to loopback, link-local (including cloud metadata at 169.254.169.254), private or
+  otherwise internal addresses; energy.app.alerts.allow-private-callbacks lifts that for local setups. URLs are
+  checked when subscribing and again before every delivery, since DNS answers can change in between. */
+@Component
+public class CallbackUrlPolicy {
+    private final boolean allowPrivateAddresses;
+
+    public CallbackUrlPolicy(@Value("${energy.app.alerts.allow-private-callbacks:false}") boolean allowPrivateAddresses) {
+        this.allowPrivateAddresses = allowPrivateAddresses;
+    }
+
+    /* Parses a callback URL from a subscription request, rejecting it with IllegalArgumentException. */
+    public URI parse(final String value) {
+        URI uri;
+        try {
+            uri = URI.create(value);
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Callback URL is not a valid URI: " + value, exception);
+        }
+        check(uri);
+        return uri;
+    }
+
+    public void check(final URI uri) {
+        if(!("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) || uri.getHost() == null) {
+            throw new IllegalArgumentException("Callback URL must be an absolute http(s) URL: " + uri);
+        }
+        if(allowPrivateAddresses) {
+            return;
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(uri.getHost());
+        } catch (UnknownHostException exception) {
+            throw new IllegalArgumentException("Callback host cannot be resolved: " + uri.getHost(), exception);
+        }
+        for(InetAddress address : addresses) {
+            if(isInternal(address)) {
+                throw new IllegalArgumentException("Callback URL resolves to an internal address: " + uri);
+            }
+        }
+    }
+
+    static boolean isInternal(final InetAddress address) {
+        if(address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if(address instanceof Inet6Address) {
+            /* Unique local addresses, fc00::/7. */
+            return (bytes[0] & 0xfe) == 0xfc;
+        }
+        /* Carrier-grade NAT, 100.64.0.0/10. */
+        return (bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64;
+    }
+}
@@ -0,0 +1,49 @@
+package com.energy_app.alert;
+
+import com.energy_app.model.dto.AlertNotificationDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.time.Duration;
+
+/* POSTs the notification as JSON to the subscriber's callback URL. Failed deliveries, and callbacks the
+  CallbackUrlPolicy no longer allows, are logged and dropped; the next state change is sent as usual. */
+@Component
+public class WebhookAlertDelivery implements AlertDelivery {
+    private static final Logger logger = LoggerFactory.getLogger(WebhookAlertDelivery.class);
+
+    private final RestClient restClient;
+    private final CallbackUrlPolicy callbackUrlPolicy;
+
+    public WebhookAlertDelivery(RestClient.Builder builder,
+                                @Value("${energy.app.alerts.webhook-timeout:5s}") Duration timeout,
+                                CallbackUrlPolicy callbackUrlPolicy) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = builder.requestFactory(requestFactory).build();
+        this.callbackUrlPolicy = callbackUrlPolicy;
+    }
+
+    @Override
+    public void deliver(URI callbackUrl, AlertNotificationDto notification) {
+        try {
+            callbackUrlPolicy.check(callbackUrl);
+            restClient.post()
+                    .uri(callbackUrl)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(notification)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RuntimeException exception) {
+            logger.warn("Failed to deliver alert {} to {}: {}", notification.subscriptionId(), callbackUrl,
+                    exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.energy_app.cache;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/* SharedCache over any server speaking the Redis protocol (Redis, Valkey, KeyDB, ...).
+  Connections are opened on first use rather than at startup, so an unreachable server only makes shared-tier
+  operations fail (TwoTierCache then falls back to its local tier and the loader). After a failed connect, further
+  attempts are refused without touching the network until the backoff has passed, so requests are not held up by
+  connect timeouts. Once connected, Lettuce reconnects (and resubscribes) on its own, and commands issued while
+  disconnected fail instead of being queued. */
+public class RedisSharedCache implements SharedCache {
+    private static final Logger logger = LoggerFactory.getLogger(RedisSharedCache.class);
+
+    /* Deletes the lock only if it is still held by the caller's token. */
+    private static final String UNLOCK_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+    private static final Duration RECONNECT_BACKOFF = Duration.ofSeconds(5);
+
+    private final RedisClient redisClient;
+    private final Map<String, Consumer<String>> listeners = new ConcurrentHashMap<>();
+
+    /* Guarded by this. */
+    private StatefulRedisConnection<byte[], byte[]> connection;
+    private StatefulRedisPubSubConnection<byte[], byte[]> pubSubConnection;
+    private long nextConnectAttemptNanos;
+
+    public RedisSharedCache(RedisClient redisClient, Duration timeout) {
+        this.redisClient = redisClient;
+        redisClient.setOptions(ClientOptions.builder()
+                .socketOptions(SocketOptions.builder().connectTimeout(timeout).build())
+                .timeoutOptions(TimeoutOptions.enabled(timeout))
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build());
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return commands().get(bytes(key));
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        commands().set(bytes(key), value, SetArgs.Builder.px(ttl.toMillis()));
+    }
+
+    @Override
+    public void delete(String key) {
+        commands().del(bytes(key));
+    }
+
+    @Override
+    public boolean tryLock(String key, String token, Duration ttl) {
+        return "OK".equals(commands().set(bytes(key), bytes(token), SetArgs.Builder.nx().px(ttl.toMillis())));
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        commands().eval(UNLOCK_SCRIPT, ScriptOutputType.INTEGER, new byte[][]{bytes(key)}, bytes(token));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        commands().publish(bytes(channel), bytes(message));
+    }
+
+    /* The listener is kept even if the server is unreachable now; the channel is subscribed once a connection
+      succeeds. */
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.put(channel, listener);
+        try {
+            synchronized(this) {
+                if(pubSubConnection != null) {
+                    pubSubConnection.sync().subscribe(bytes(channel));
+                } else {
+                    connect();
+                }
+            }
+        } catch (RuntimeException exception) {
+            logger.warn("Shared cache unavailable, subscribing to '{}' later: {}", channel, exception.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if(pubSubConnection != null) {
+            pubSubConnection.close();
+        }
+        if(connection != null) {
+            connection.close();
+        }
+        redisClient.shutdown();
+    }
+
+    private RedisCommands<byte[], byte[]> commands() {
+        StatefulRedisConnection<byte[], byte[]> current;
+        synchronized(this) {
+            if(connection == null || pubSubConnection == null) {
+                try {
+                    connect();
+                } catch (RuntimeException exception) {
+                    /* Commands still work without invalidations; the pub/sub connection is retried later. */
+                    if(connection == null) {
+                        throw exception;
+                    }
+                }
+            }
+            current = connection;
+        }
+        return current.sync();
+    }
+
+    /* Opens both connections and subscribes every registered channel, or fails fast while backing off. */
+    private void connect() {
+        if(System.nanoTime() - nextConnectAttemptNanos < 0) {
+            throw new RedisConnectionException("Shared cache unreachable, next connection attempt in at most "
+                    + RECONNECT_BACKOFF.toSeconds() + "s");
+        }
+        try {
+            if(connection == null) {
+                connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+            }
+            if(pubSubConnection == null) {
+                StatefulRedisPubSubConnection<byte[], byte[]> pubSub =
+                        redisClient.connectPubSub(ByteArrayCodec.INSTANCE);
+                pubSub.addListener(new RedisPubSubAdapter<>() {
+                    @Override
+                    public void message(byte[] channel, byte[] message) {
+                        Consumer<String> listener = listeners.get(new String(channel, StandardCharsets.UTF_8));
+                        if(listener != null) {
+                            listener.accept(new String(message, StandardCharsets.UTF_8));
+                        }
+                    }
+                });
+                if(!listeners.isEmpty()) {
+                    pubSub.sync().subscribe(listeners.keySet().stream().map(RedisSharedCache::bytes)
+                            .toArray(byte[][]::new));
+                }
+                pubSubConnection = pubSub;
+            }
+        } catch (RuntimeException exception) {
+            nextConnectAttemptNanos = System.nanoTime() + RECONNECT_BACKOFF.toNanos();
+            throw exception;
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
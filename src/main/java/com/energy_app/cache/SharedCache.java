@@ -0,0 +1,26 @@
+package com.energy_app.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/* Cache tier shared by all replicas (Redis in production). Keys and channel names are plain strings, values are
+  opaque bytes encoded by a ValueCodec. */
+public interface SharedCache extends AutoCloseable {
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void delete(String key);
+
+    /* Acquires the lock only if nobody holds it; the token identifies the owner for unlock. */
+    boolean tryLock(String key, String token, Duration ttl);
+
+    void unlock(String key, String token);
+
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,41 @@
+package com.energy_app.cache;
+
+import com.energy_app.client.CarbonIntensityClientImpl;
+import io.lettuce.core.RedisClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/* Opt-in shared cache tier: with energy.app.l2-cache.enabled=true the generationMix cache becomes a local
+  near-cache in front of Redis, so N replicas make one upstream call per range. An unreachable Redis does not fail
+  startup; the cache then behaves like a local one until Redis is back. */
+@Configuration
+@ConditionalOnProperty(prefix = "energy.app.l2-cache", name = "enabled", havingValue = "true")
+public class SharedCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    SharedCache sharedCache(@Value("${energy.app.l2-cache.redis-uri}") String redisUri,
+                            @Value("${energy.app.l2-cache.timeout:2s}") Duration timeout) {
+        return new RedisSharedCache(RedisClient.create(redisUri), timeout);
+    }
+
+    @Bean
+    CacheManager cacheManager(SharedCache sharedCache,
+                              @Value("${energy.app.l2-cache.ttl:5m}") Duration ttl,
+                              @Value("${energy.app.l2-cache.lock-ttl:30s}") Duration lockTtl,
+                              @Value("${energy.app.l2-cache.lock-wait:10s}") Duration lockWait) {
+        TwoTierCache generationMix = new TwoTierCache(CarbonIntensityClientImpl.CACHE_NAME, sharedCache,
+                new SlotDataCodec(), ttl, lockTtl, lockWait);
+        generationMix.subscribeToInvalidations();
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(generationMix));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,130 @@
+package com.energy_app.cache;
+
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.CarbonIntensityResponse;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/* Compact binary form of a CarbonIntensityResponse for the shared cache tier. Counts and lengths are varints
+  shifted by one so that 0 can stand for null. Each fuel is one header byte (ordinal, plus a flag when the
+  percentage is an exact number of hundredths, which is what the API returns) followed by either a varint of
+  hundredths or a raw double. A nine-fuel slot takes ~65 bytes instead of ~300 bytes of JSON. */
+public class SlotDataCodec implements ValueCodec {
+    private static final int VERSION = 1;
+    private static final int HUNDREDTHS_FLAG = 0x80;
+    private static final int NULL_FUEL_TYPE = 0x7F;
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    @Override
+    public byte[] encode(Object value) {
+        CarbonIntensityResponse response = (CarbonIntensityResponse) value;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(VERSION);
+
+        List<GenerationData> data = response.data();
+        VarInts.writeUnsigned(out, data == null ? 0 : data.size() + 1L);
+        if(data != null) {
+            for(GenerationData generationData : data) {
+                writeString(out, generationData.from());
+                writeString(out, generationData.to());
+                writeFuels(out, generationData.generationMix());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        int version = in.get();
+        if(version != VERSION) {
+            throw new IllegalArgumentException("Unsupported slot data version: " + version);
+        }
+
+        int size = (int) VarInts.readUnsigned(in) - 1;
+        if(size < 0) {
+            return new CarbonIntensityResponse(null);
+        }
+
+        List<GenerationData> data = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            String from = readString(in);
+            String to = readString(in);
+            data.add(new GenerationData(from, to, readFuels(in)));
+        }
+        return new CarbonIntensityResponse(data);
+    }
+
+    private static void writeFuels(ByteArrayOutputStream out, List<Fuel> fuels) {
+        VarInts.writeUnsigned(out, fuels == null ? 0 : fuels.size() + 1L);
+        if(fuels == null) {
+            return;
+        }
+        for(Fuel fuel : fuels) {
+            int header = fuel.fuelType() == null ? NULL_FUEL_TYPE : fuel.fuelType().ordinal();
+            Double percentage = fuel.percentage();
+            long hundredths = percentage == null ? -1 : Math.round(percentage * 100.0);
+
+            if(hundredths >= 0 && hundredths / 100.0 == percentage) {
+                out.write(header | HUNDREDTHS_FLAG);
+                VarInts.writeUnsigned(out, hundredths);
+            } else {
+                out.write(header);
+                long bits = Double.doubleToLongBits(percentage == null ? Double.NaN : percentage);
+                for(int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) (bits >>> shift));
+                }
+            }
+        }
+    }
+
+    private static List<Fuel> readFuels(ByteBuffer in) {
+        int size = (int) VarInts.readUnsigned(in) - 1;
+        if(size < 0) {
+            return null;
+        }
+
+        List<Fuel> fuels = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            int header = in.get() & 0xFF;
+            int ordinal = header & ~HUNDREDTHS_FLAG;
+            FuelType fuelType = ordinal == NULL_FUEL_TYPE ? null : FUEL_TYPES[ordinal];
+
+            Double percentage;
+            if((header & HUNDREDTHS_FLAG) != 0) {
+                percentage = VarInts.readUnsigned(in) / 100.0;
+            } else {
+                double raw = in.getDouble();
+                percentage = Double.isNaN(raw) ? null : raw;
+            }
+            fuels.add(new Fuel(fuelType, percentage));
+        }
+        return fuels;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if(value == null) {
+            VarInts.writeUnsigned(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        VarInts.writeUnsigned(out, bytes.length + 1L);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) VarInts.readUnsigned(in) - 1;
+        if(length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
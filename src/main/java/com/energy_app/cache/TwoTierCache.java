@@ -0,0 +1,257 @@
+package com.energy_app.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/* Local near-cache in front of a SharedCache. Reads go local, then shared; a miss in both is loaded by exactly one
+  replica holding the distributed lock for that key, while the others wait for the value to appear in the shared
+  tier. Every write is announced on a pub/sub channel so other replicas drop their local copy and pick up the new
+  value on their next read instead of serving the stale one until it expires. */
+public class TwoTierCache implements Cache {
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private static final long LOCK_POLL_MILLIS = 50;
+    private static final String SEPARATOR = "\n";
+
+    private final String name;
+    private final SharedCache sharedCache;
+    private final ValueCodec codec;
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final Duration lockWait;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<Object, LocalEntry> local = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, ReentrantLock> loadLocks = new ConcurrentHashMap<>();
+
+    public TwoTierCache(String name, SharedCache sharedCache, ValueCodec codec,
+                        Duration ttl, Duration lockTtl, Duration lockWait) {
+        this.name = name;
+        this.sharedCache = sharedCache;
+        this.codec = codec;
+        this.ttl = ttl;
+        this.lockTtl = lockTtl;
+        this.lockWait = lockWait;
+    }
+
+    /* Starts listening for writes made by other replicas. */
+    public void subscribeToInvalidations() {
+        sharedCache.subscribe(invalidationChannel(), message -> {
+            int separator = message.indexOf(SEPARATOR);
+            if(separator < 0 || message.substring(0, separator).equals(instanceId)) {
+                return;
+            }
+            local.remove(message.substring(separator + 1));
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return sharedCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = lookup(key);
+        return value == null ? null : new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Object value = lookup(key);
+        if(value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if(value != null) {
+            return (T) value;
+        }
+
+        ReentrantLock loadLock = loadLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        loadLock.lock();
+        try {
+            value = lookup(key);
+            if(value != null) {
+                return (T) value;
+            }
+            return (T) loadOnce(key, valueLoader);
+        } finally {
+            loadLock.unlock();
+            loadLocks.remove(key, loadLock);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if(value == null) {
+            return;
+        }
+        putLocal(key, value);
+        try {
+            sharedCache.put(sharedKey(key), codec.encode(value), ttl);
+            sharedCache.publish(invalidationChannel(), instanceId + SEPARATOR + key);
+        } catch (RuntimeException exception) {
+            logger.warn("Failed to write '{}' to shared cache: {}", key, exception.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.remove(key);
+        try {
+            sharedCache.delete(sharedKey(key));
+            sharedCache.publish(invalidationChannel(), instanceId + SEPARATOR + key);
+        } catch (RuntimeException exception) {
+            logger.warn("Failed to evict '{}' from shared cache: {}", key, exception.getMessage());
+        }
+    }
+
+    /* Whether a read would be answered without touching the shared tier. A value held only in the shared tier counts
+      as absent. */
+    public boolean isCachedLocally(Object key) {
+        LocalEntry entry = local.get(key);
+        return entry != null && !entry.isExpired();
+    }
+
+    /* Clears the local tier only; shared entries expire through their TTL. */
+    @Override
+    public void clear() {
+        local.clear();
+    }
+
+    private Object lookup(Object key) {
+        LocalEntry entry = local.get(key);
+        if(entry != null) {
+            if(!entry.isExpired()) {
+                return entry.value();
+            }
+            local.remove(key, entry);
+        }
+
+        Object value = readShared(key);
+        if(value != null) {
+            putLocal(key, value);
+        }
+        return value;
+    }
+
+    private Object loadOnce(Object key, Callable<?> valueLoader) {
+        String lockKey = "lock:" + sharedKey(key);
+        String token = instanceId + ":" + UUID.randomUUID();
+        long deadline = System.nanoTime() + lockWait.toNanos();
+
+        boolean locked = tryLock(lockKey, token);
+        while(!locked && System.nanoTime() < deadline && sleep()) {
+            Object value = readShared(key);
+            if(value != null) {
+                putLocal(key, value);
+                return value;
+            }
+            locked = tryLock(lockKey, token);
+        }
+
+        /* Without the lock (shared tier down or the owner stalled) this replica loads on its own rather than
+          failing the request. */
+        try {
+            Object value = locked ? readShared(key) : null;
+            if(value == null) {
+                value = call(valueLoader, key);
+                put(key, value);
+            } else {
+                putLocal(key, value);
+            }
+            return value;
+        } finally {
+            if(locked) {
+                unlock(lockKey, token);
+            }
+        }
+    }
+
+    private Object readShared(Object key) {
+        try {
+            byte[] bytes = sharedCache.get(sharedKey(key));
+            return bytes == null ? null : codec.decode(bytes);
+        } catch (RuntimeException exception) {
+            logger.warn("Failed to read '{}' from shared cache: {}", key, exception.getMessage());
+            return null;
+        }
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return sharedCache.tryLock(lockKey, token, lockTtl);
+        } catch (RuntimeException exception) {
+            logger.warn("Failed to acquire shared cache lock '{}': {}", lockKey, exception.getMessage());
+            return false;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            sharedCache.unlock(lockKey, token);
+        } catch (RuntimeException exception) {
+            logger.warn("Failed to release shared cache lock '{}': {}", lockKey, exception.getMessage());
+        }
+    }
+
+    private static Object call(Callable<?> valueLoader, Object key) {
+        try {
+            return valueLoader.call();
+        } catch (Exception exception) {
+            throw new ValueRetrievalException(key, valueLoader, exception);
+        }
+    }
+
+    private void putLocal(Object key, Object value) {
+        local.put(key, new LocalEntry(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    private String sharedKey(Object key) {
+        return "energy-app:" + name + ":" + key;
+    }
+
+    private String invalidationChannel() {
+        return "energy-app:" + name + ":invalidate";
+    }
+
+    private static boolean sleep() {
+        try {
+            Thread.sleep(LOCK_POLL_MILLIS);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record LocalEntry(
+            Object value,
+            long expiresAtNanos
+    ) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.energy_app.cache;
+
+public interface ValueCodec {
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,40 @@
+package com.energy_app.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/* LEB128 variable-length integers: small values take one byte. Signed values are zig-zag encoded first so small
+  negative deltas stay small too. */
+public final class VarInts {
+    private VarInts() {}
+
+    public static void writeUnsigned(final ByteArrayOutputStream out, long value) {
+        while((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    public static void writeSigned(final ByteArrayOutputStream out, final long value) {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readUnsigned(final ByteBuffer in) {
+        long result = 0;
+        for(int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new BufferUnderflowException();
+    }
+
+    public static long readSigned(final ByteBuffer in) {
+        long raw = readUnsigned(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
@@ -1,7 +1,17 @@
 package com.energy_app.client;
 
 import com.energy_app.model.external.CarbonIntensityResponse;
+import com.energy_app.model.external.GenerationData;
+
+import java.util.function.Consumer;
 
 public interface CarbonIntensityClient {
     CarbonIntensityResponse fetchGenerationMix(final String from, final String to);
+
+    /* True when fetchGenerationMix for the same range would be answered without calling the upstream API. */
+    boolean isCached(final String from, final String to);
+
+    /* Hands each interval of the range to the consumer while the upstream body is still being read, bypassing the
+      cache; only one interval is held in memory at a time. */
+    void streamGenerationMix(final String from, final String to, final Consumer<GenerationData> consumer);
 }
@@ -1,37 +1,117 @@
 package com.energy_app.client;
 
+import com.energy_app.cache.TwoTierCache;
 import com.energy_app.exception.ExternalApiException;
 import com.energy_app.model.external.CarbonIntensityResponse;
+import com.energy_app.model.external.GenerationData;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.util.UriComponentsBuilder;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.net.URI;
+import java.util.function.Consumer;
 
 @Component
 public class CarbonIntensityClientImpl implements CarbonIntensityClient {
+    public static final String CACHE_NAME = "generationMix";
+
     private final RestClient restClient;
+    private final CacheManager cacheManager;
+    private final JsonMapper jsonMapper;
+    /* Binds one interval at a time from a parser positioned inside the "data" array. */
+    private final ObjectReader intervalReader;
     private static final String extensionUrl = "/generation/{from}/{to}";
 
 
-    public CarbonIntensityClientImpl(final RestClient restClient) {
+    public CarbonIntensityClientImpl(final RestClient restClient, final CacheManager cacheManager,
+                                     final JsonMapper jsonMapper) {
         this.restClient = restClient;
+        this.cacheManager = cacheManager;
+        this.jsonMapper = jsonMapper;
+        this.intervalReader = jsonMapper.readerFor(GenerationData.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    }
+
+    public static String cacheKey(final String from, final String to) {
+        return from + "-" + to;
     }
 
-    @Cacheable(cacheNames = "generationMix",  key = "#from + '-' + #to")
+    /* sync lets a two-tier cache single-flight the load across replicas (see TwoTierCache). */
+    @Cacheable(cacheNames = CACHE_NAME, sync = true,
+            key = "T(com.energy_app.client.CarbonIntensityClientImpl).cacheKey(#from, #to)")
     public CarbonIntensityResponse fetchGenerationMix(final String from, final String to) {
-        final URI uri = UriComponentsBuilder
-                .fromUriString(extensionUrl)
-                .buildAndExpand(from, to)
-                .toUri();
         try {
             return restClient.get()
-                    .uri(uri)
+                    .uri(uri(from, to))
                     .retrieve()
                     .body(CarbonIntensityResponse.class);
         } catch (Exception exception) {
             throw new ExternalApiException("Failed to connect to Carbon Intensity API.", exception);
         }
     }
+
+    /* Asked before a request is admitted (see ConcurrencyLimitInterceptor), so only this instance's tier is
+      consulted: a shared-tier read would cost a network round trip and a decode on every request. */
+    public boolean isCached(final String from, final String to) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if(cache instanceof TwoTierCache twoTierCache) {
+            return twoTierCache.isCachedLocally(cacheKey(from, to));
+        }
+        return cache != null && cache.get(cacheKey(from, to)) != null;
+    }
+
+    /* Reads the "data" array token by token instead of binding the whole response. Failures of the consumer (such
+      as a closed client connection) propagate unchanged. */
+    public void streamGenerationMix(final String from, final String to, final Consumer<GenerationData> consumer) {
+        try {
+            restClient.get()
+                    .uri(uri(from, to))
+                    .exchange((request, response) -> {
+                        if(response.getStatusCode().isError()) {
+                            throw new ExternalApiException("Carbon Intensity API returned " + response.getStatusCode()
+                                    + ".");
+                        }
+                        try(JsonParser parser = jsonMapper.createParser(response.getBody())) {
+                            readData(parser, consumer);
+                        }
+                        return null;
+                    });
+        } catch (RestClientException | JacksonException exception) {
+            throw new ExternalApiException("Failed to connect to Carbon Intensity API.", exception);
+        }
+    }
+
+    private void readData(final JsonParser parser, final Consumer<GenerationData> consumer) {
+        if(parser.nextToken() != JsonToken.START_OBJECT) {
+            return;
+        }
+        while(parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if("data".equals(field) && value == JsonToken.START_ARRAY) {
+                while(parser.nextToken() == JsonToken.START_OBJECT) {
+                    consumer.accept(intervalReader.readValue(parser));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static URI uri(final String from, final String to) {
+        return UriComponentsBuilder
+                .fromUriString(extensionUrl)
+                .buildAndExpand(from, to)
+                .toUri();
+    }
 }
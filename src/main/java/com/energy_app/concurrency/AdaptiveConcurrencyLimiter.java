@@ -0,0 +1,109 @@
+package com.energy_app.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/* Latency-gradient concurrency limiter. The limit grows while request latency stays close to its long-term
+  average and shrinks as soon as latency rises above it, i.e. when requests start queueing instead of being
+  served. Requests that need an upstream fetch may only use part of the limit, so requests that can be answered
+  from cache keep being admitted while the upstream is slow. */
+public class AdaptiveConcurrencyLimiter {
+    /* Number of samples the long-term latency average is smoothed over. */
+    private static final double LONG_WINDOW = 600.0;
+
+    /* Latency may exceed the long-term average by this factor before the limit starts to shrink. */
+    private static final double RTT_TOLERANCE = 1.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double cacheMissShare;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double smoothing, double cacheMissShare) {
+        if(minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max.");
+        }
+        if(cacheMissShare <= 0.0 || cacheMissShare > 1.0) {
+            throw new IllegalArgumentException("Cache miss share must be in (0, 1].");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.cacheMissShare = cacheMissShare;
+        this.limit = initialLimit;
+    }
+
+    /* Returns the number of requests in flight before this one, or -1 when the request must be shed. */
+    public int tryAcquire(final boolean servedFromCache) {
+        double currentLimit = limit;
+        int allowed = servedFromCache
+                ? (int) currentLimit
+                : Math.max(1, (int) (currentLimit * cacheMissShare));
+
+        while(true) {
+            int current = inflight.get();
+            if(current >= allowed) {
+                rejected.increment();
+                return -1;
+            }
+            if(inflight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    public void release(final long rttNanos, final int inflightAtStart) {
+        inflight.decrementAndGet();
+        onSample(rttNanos, inflightAtStart);
+    }
+
+    private synchronized void onSample(final long rttNanos, final int inflightAtStart) {
+        if(rttNanos <= 0) {
+            return;
+        }
+
+        if(longRttNanos == 0.0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+
+        /* After a sustained latency drop the long-term average lags behind; pull it down faster so the limit
+          can recover instead of staying pinned at the previous, slower baseline. */
+        if(longRttNanos > 2.0 * rttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        /* A request that ran while the service was mostly idle says nothing about where the limit should be. */
+        double currentLimit = limit;
+        if(inflightAtStart + 1 < currentLimit / 2.0) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        double queueSize = Math.sqrt(currentLimit);
+        double newLimit = currentLimit * gradient + queueSize;
+        newLimit = currentLimit * (1.0 - smoothing) + newLimit * smoothing;
+
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,102 @@
+package com.energy_app.concurrency;
+
+import com.energy_app.exception.ServiceOverloadedException;
+import com.energy_app.service.EnergyService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/* Sheds load in front of the energy endpoints before a request ties up a Tomcat thread waiting on the upstream.
+  Rejected requests surface as ServiceOverloadedException, rendered as 503 with Retry-After by
+  GlobalExceptionHandler. */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor, MeterBinder {
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+    private static final String INFLIGHT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".inflight";
+
+    private final EnergyService energyService;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(EnergyService energyService,
+                                       @Value("${energy.app.concurrency.enabled:true}") boolean enabled,
+                                       @Value("${energy.app.concurrency.initial-limit:20}") int initialLimit,
+                                       @Value("${energy.app.concurrency.min-limit:4}") int minLimit,
+                                       @Value("${energy.app.concurrency.max-limit:200}") int maxLimit,
+                                       @Value("${energy.app.concurrency.smoothing:0.2}") double smoothing,
+                                       @Value("${energy.app.concurrency.cache-miss-share:0.75}") double cacheMissShare,
+                                       @Value("${energy.app.concurrency.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.energyService = energyService;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing, cacheMissShare);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if(!enabled) {
+            return true;
+        }
+
+        int inflightAtStart = limiter.tryAcquire(isServedFromCache(request));
+        if(inflightAtStart < 0) {
+            throw new ServiceOverloadedException("Concurrency limit of " + limiter.getLimit() + " reached.",
+                    retryAfterSeconds);
+        }
+
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        request.setAttribute(INFLIGHT_ATTRIBUTE, inflightAtStart);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        if(!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        int inflightAtStart = (Integer) request.getAttribute(INFLIGHT_ATTRIBUTE);
+        request.removeAttribute(START_ATTRIBUTE);
+        limiter.release(System.nanoTime() - start, inflightAtStart);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("energy.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for energy endpoints")
+                .register(registry);
+        Gauge.builder("energy.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                .description("Energy requests currently in flight")
+                .register(registry);
+        FunctionCounter.builder("energy.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .description("Energy requests shed because the concurrency limit was reached")
+                .register(registry);
+    }
+
+    /* A local cache lookup is far cheaper than the request it protects; if it fails, treat the request as a cache miss.
+      Revisions are read from ForecastRevisionStore and never reach the upstream. */
+    private boolean isServedFromCache(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if(uri.endsWith("/revisions")) {
+            return true;
+        }
+        try {
+            if(uri.endsWith("/mix")) {
+                return energyService.isGenerationMixCached();
+            }
+            if(uri.endsWith("/optimal-charging") || uri.endsWith("/heatmap")) {
+                return energyService.isOptimalChargingWindowCached();
+            }
+        } catch (RuntimeException exception) {
+            return false;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package com.energy_app.config;
+
+import com.energy_app.model.enumeration.FuelType;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.deser.std.StdDeserializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/* Compact binary representation used for Accept: application/cbor. Field names stay as in JSON, but FuelType is
+  written as its ordinal, which CBOR encodes in a single byte. */
+public class BinaryEncoding {
+    private BinaryEncoding() {}
+
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    public static CBORMapper cborMapper() {
+        SimpleModule fuelTypeModule = new SimpleModule("FuelTypeOrdinal")
+                .addSerializer(FuelType.class, new FuelTypeOrdinalSerializer())
+                .addDeserializer(FuelType.class, new FuelTypeOrdinalDeserializer());
+
+        return CBORMapper.builder()
+                .addModule(fuelTypeModule)
+                .build();
+    }
+
+    static class FuelTypeOrdinalSerializer extends StdSerializer<FuelType> {
+        FuelTypeOrdinalSerializer() {
+            super(FuelType.class);
+        }
+
+        @Override
+        public void serialize(FuelType value, JsonGenerator generator, SerializationContext context) {
+            generator.writeNumber(value.ordinal());
+        }
+    }
+
+    static class FuelTypeOrdinalDeserializer extends StdDeserializer<FuelType> {
+        FuelTypeOrdinalDeserializer() {
+            super(FuelType.class);
+        }
+
+        @Override
+        public FuelType deserialize(JsonParser parser, DeserializationContext context) {
+            if(parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                int ordinal = parser.getIntValue();
+                if(ordinal >= 0 && ordinal < FUEL_TYPES.length) {
+                    return FUEL_TYPES[ordinal];
+                }
+                return (FuelType) context.handleWeirdNumberValue(FuelType.class, ordinal, "Unknown fuel type ordinal");
+            }
+            return new FuelTypeConverter().convert(parser.getValueAsString());
+        }
+    }
+}
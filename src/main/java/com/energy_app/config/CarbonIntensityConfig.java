@@ -1,16 +1,21 @@
 package com.energy_app.config;
 
+import com.energy_app.profiling.ProfiledJsonHttpMessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestClient;
+import tools.jackson.databind.json.JsonMapper;
 
 @Configuration
 public class CarbonIntensityConfig {
 
     @Bean
-    RestClient carbonIntensityRestClient(RestClient.Builder builder, CarbonIntensityApiProperties properties) {
+    RestClient carbonIntensityRestClient(RestClient.Builder builder, CarbonIntensityApiProperties properties,
+                                         JsonMapper jsonMapper) {
         return builder
                 .baseUrl(properties.getBaseUrl())
+                .configureMessageConverters(converters ->
+                        converters.withJsonConverter(new ProfiledJsonHttpMessageConverter(jsonMapper)))
                 .build();
     }
 }
@@ -2,6 +2,7 @@ package com.energy_app.config;
 
 import com.energy_app.model.enumeration.FuelType;
 
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Set;
 
@@ -15,4 +16,12 @@ public class CleanFuels {
             FuelType.WIND,
             FuelType.SOLAR
     );
+
+    /* Clients may define "clean" differently; fall back to the default set when no subset is requested. */
+    public static Set<FuelType> orDefault(final Collection<FuelType> requested) {
+        if(requested == null || requested.isEmpty()) {
+            return CLEAN;
+        }
+        return EnumSet.copyOf(requested);
+    }
 }
@@ -0,0 +1,13 @@
+package com.energy_app.config;
+
+import com.energy_app.model.enumeration.FuelType;
+import org.springframework.core.convert.converter.Converter;
+
+/* Accepts fuel names the way they are serialized in responses ("wind") as well as enum constants ("WIND"). */
+public class FuelTypeConverter implements Converter<String, FuelType> {
+
+    @Override
+    public FuelType convert(String source) {
+        return FuelType.fromName(source);
+    }
+}
@@ -0,0 +1,42 @@
+package com.energy_app.config;
+
+import com.energy_app.model.dto.AlertNotificationDto;
+import com.energy_app.model.dto.AlertSubscriptionDto;
+import com.energy_app.model.dto.AlertSubscriptionRequest;
+import com.energy_app.model.dto.CleanShareHeatmapDto;
+import com.energy_app.model.dto.DailyMixDto;
+import com.energy_app.model.dto.FuelDto;
+import com.energy_app.model.dto.HeatmapRowDto;
+import com.energy_app.model.dto.OptimalWindowDto;
+import com.energy_app.model.dto.RevisionDto;
+import com.energy_app.model.dto.SlotRevisionsDto;
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.CarbonIntensityResponse;
+import com.energy_app.model.external.ErrorResponse;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+
+/* Jackson binds these records reflectively. AOT only infers controller return types, so the upstream response
+  read through RestClient and the error body need explicit hints for the native image. */
+@Configuration
+@RegisterReflectionForBinding({
+        CarbonIntensityResponse.class,
+        GenerationData.class,
+        Fuel.class,
+        ErrorResponse.class,
+        DailyMixDto.class,
+        FuelDto.class,
+        OptimalWindowDto.class,
+        CleanShareHeatmapDto.class,
+        HeatmapRowDto.class,
+        SlotRevisionsDto.class,
+        RevisionDto.class,
+        AlertSubscriptionRequest.class,
+        AlertSubscriptionDto.class,
+        AlertNotificationDto.class,
+        FuelType.class
+})
+public class NativeHintsConfig {
+}
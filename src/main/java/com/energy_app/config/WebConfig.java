@@ -1,9 +1,16 @@
 package com.energy_app.config;
 
+import com.energy_app.concurrency.ConcurrencyLimitInterceptor;
+import com.energy_app.profiling.ProfiledCborHttpMessageConverter;
+import com.energy_app.profiling.ProfiledJsonHttpMessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.HttpMessageConverters;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.json.JsonMapper;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -11,6 +18,14 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${app.frontend.url}")
     private String frontendUrl;
 
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final JsonMapper jsonMapper;
+
+    public WebConfig(ConcurrencyLimitInterceptor concurrencyLimitInterceptor, JsonMapper jsonMapper) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+        this.jsonMapper = jsonMapper;
+    }
+
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins(frontendUrl)
@@ -18,4 +33,21 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    /* Exports are asynchronous and long-running, so they would skew the limiter's latency samples; SlotExporter
+      caps them separately. */
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/v1/energy/**")
+                .excludePathPatterns("/api/v1/energy/export");
+    }
+
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(new FuelTypeConverter());
+    }
+
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withJsonConverter(new ProfiledJsonHttpMessageConverter(jsonMapper))
+                .withCborConverter(new ProfiledCborHttpMessageConverter(BinaryEncoding.cborMapper()));
+    }
 }
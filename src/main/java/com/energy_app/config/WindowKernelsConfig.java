@@ -0,0 +1,17 @@
+package com.energy_app.config;
+
+import com.energy_app.kernel.WindowKernels;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WindowKernelsConfig {
+
+    /* Vectorized kernels need --add-modules jdk.incubator.vector on the command line; without it (or with the
+      property off) the scalar ones are used. */
+    @Bean
+    WindowKernels windowKernels(@Value("${energy.app.kernels.vectorized}") boolean vectorized) {
+        return WindowKernels.select(vectorized);
+    }
+}
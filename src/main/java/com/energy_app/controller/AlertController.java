@@ -0,0 +1,79 @@
+package com.energy_app.controller;
+
+import com.energy_app.alert.AlertRegistry;
+import com.energy_app.alert.AlertSubscription;
+import com.energy_app.alert.CallbackUrlPolicy;
+import com.energy_app.config.CleanFuels;
+import com.energy_app.model.dto.AlertSubscriptionDto;
+import com.energy_app.model.dto.AlertSubscriptionRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/alerts/subscriptions")
+@Validated
+@Tag(name = "Alerts API", description = "Subscriptions that POST to a callback URL when a charging window of the "
+        + "given length reaching the clean energy threshold appears, moves or disappears.")
+public class AlertController {
+    private final AlertRegistry alertRegistry;
+    private final CallbackUrlPolicy callbackUrlPolicy;
+
+    public AlertController(final AlertRegistry alertRegistry, final CallbackUrlPolicy callbackUrlPolicy) {
+        this.alertRegistry = alertRegistry;
+        this.callbackUrlPolicy = callbackUrlPolicy;
+    }
+
+    @Operation(summary = "Subscribe to a clean window alert",
+            description = "Evaluated on every forecast refresh; notifies only when the earliest qualifying window "
+                    + "changes. Optional cleanFuels overrides which fuels count as clean.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Subscription created"),
+            @ApiResponse(responseCode = "400", description = "Invalid duration (1-6), threshold (0-100) or callback URL, "
+                    + "or a callback resolving to an internal address"),
+            @ApiResponse(responseCode = "429", description = "Subscription limit reached")
+    })
+    @PostMapping
+    ResponseEntity<AlertSubscriptionDto> subscribe(@Valid @RequestBody AlertSubscriptionRequest request) {
+        AlertSubscription subscription = alertRegistry.subscribe(request.durationHours(), request.thresholdPercent(),
+                CleanFuels.orDefault(request.cleanFuels()), callbackUrlPolicy.parse(request.callbackUrl()));
+        return ResponseEntity.created(URI.create("/api/v1/alerts/subscriptions/" + subscription.id()))
+                .body(toDto(subscription));
+    }
+
+    @Operation(summary = "Get an alert subscription")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscription found"),
+            @ApiResponse(responseCode = "404", description = "No such subscription")
+    })
+    @GetMapping("/{id}")
+    ResponseEntity<AlertSubscriptionDto> get(@PathVariable String id) {
+        return alertRegistry.find(id)
+                .map(subscription -> ResponseEntity.ok(toDto(subscription)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Cancel an alert subscription")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Subscription removed"),
+            @ApiResponse(responseCode = "404", description = "No such subscription")
+    })
+    @DeleteMapping("/{id}")
+    ResponseEntity<Void> unsubscribe(@PathVariable String id) {
+        return alertRegistry.unsubscribe(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private static AlertSubscriptionDto toDto(final AlertSubscription subscription) {
+        return new AlertSubscriptionDto(subscription.id(), subscription.durationHours(),
+                subscription.thresholdPercent(), subscription.cleanFuels(), subscription.callbackUrl().toString());
+    }
+}
@@ -1,7 +1,11 @@
 package com.energy_app.controller;
 
+import com.energy_app.config.CleanFuels;
+import com.energy_app.model.dto.CleanShareHeatmapDto;
 import com.energy_app.model.dto.DailyMixDto;
 import com.energy_app.model.dto.OptimalWindowDto;
+import com.energy_app.model.dto.SlotRevisionsDto;
+import com.energy_app.model.enumeration.FuelType;
 import com.energy_app.service.EnergyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,16 +13,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/energy")
 @Validated
-@Tag(name = "Energy API", description = "Carbon Intensity (generation mix) and optimal charging window endpoints")
+@Tag(name = "Energy API", description = "Carbon Intensity (generation mix) and optimal charging window endpoints. "
+        + "Send Accept: application/cbor for a compact binary body with fuel types encoded as ordinals.")
 public class EnergyController {
     private final EnergyService energyService;
 
@@ -27,27 +35,65 @@ public class EnergyController {
     }
 
     @Operation(summary = "Get generation mix",
-            description = "Returns daily energy generation mix with clean energy percentages for configured number of days")
+            description = "Returns daily energy generation mix with clean energy percentages for configured number of days. "
+                    + "Optional cleanFuels overrides which fuels count as clean.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved generation mix"),
+            @ApiResponse(responseCode = "400", description = "Unknown fuel type in cleanFuels"),
             @ApiResponse(responseCode = "503", description = "External Carbon Intensity API unavailable")
     })
     @GetMapping("/mix")
-    ResponseEntity<List<DailyMixDto>> getGenerationMix() {
-        return ResponseEntity.ok(energyService.getGenerationMix());
+    ResponseEntity<List<DailyMixDto>> getGenerationMix(
+            @RequestParam(required = false) Set<FuelType> cleanFuels
+    ) {
+        return ResponseEntity.ok(energyService.getGenerationMix(CleanFuels.orDefault(cleanFuels)));
     }
 
     @Operation(summary = "Find optimal charging window",
-            description = "Finds the best time window with highest clean energy percentage for EV charging")
+            description = "Finds the best time window with highest clean energy percentage for EV charging. "
+                    + "Optional cleanFuels overrides which fuels count as clean.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully found optimal charging window"),
-            @ApiResponse(responseCode = "400", description = "Invalid number of hours (must be 1-6)"),
+            @ApiResponse(responseCode = "400", description = "Invalid number of hours (must be 1-6) or unknown fuel type"),
             @ApiResponse(responseCode = "503", description = "External Carbon Intensity API unavailable")
     })
     @GetMapping("/optimal-charging")
     ResponseEntity<OptimalWindowDto> getOptimalChargingWindow(
-            @RequestParam @Min(1) @Max(6) int numberOfHours
+            @RequestParam @Min(1) @Max(6) int numberOfHours,
+            @RequestParam(required = false) Set<FuelType> cleanFuels
+    ) {
+        return ResponseEntity.ok(energyService.findOptimalChargingWindow(numberOfHours,
+                CleanFuels.orDefault(cleanFuels)));
+    }
+
+    @Operation(summary = "Get clean energy heatmap",
+            description = "Returns the average clean energy percentage for every start slot and every duration "
+                    + "(in half-hour steps) within the optimal charging search window. "
+                    + "Optional cleanFuels overrides which fuels count as clean.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully computed heatmap"),
+            @ApiResponse(responseCode = "400", description = "Unknown fuel type in cleanFuels"),
+            @ApiResponse(responseCode = "503", description = "External Carbon Intensity API unavailable")
+    })
+    @GetMapping("/heatmap")
+    ResponseEntity<CleanShareHeatmapDto> getCleanShareHeatmap(
+            @RequestParam(required = false) Set<FuelType> cleanFuels
+    ) {
+        return ResponseEntity.ok(energyService.getCleanShareHeatmap(CleanFuels.orDefault(cleanFuels)));
+    }
+
+    @Operation(summary = "Get forecast revisions of a slot",
+            description = "Returns every version of a half-hour slot's generation mix this instance has seen, oldest "
+                    + "first. With 'at', returns only the version that was current at that time.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved revisions (possibly none)"),
+            @ApiResponse(responseCode = "400", description = "Invalid slot or at timestamp")
+    })
+    @GetMapping("/revisions")
+    ResponseEntity<SlotRevisionsDto> getSlotRevisions(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime slot,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime at
     ) {
-        return ResponseEntity.ok(energyService.findOptimalChargingWindow(numberOfHours));
+        return ResponseEntity.ok(energyService.getSlotRevisions(slot, at));
     }
 }
\ No newline at end of file
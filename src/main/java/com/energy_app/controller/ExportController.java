@@ -0,0 +1,126 @@
+package com.energy_app.controller;
+
+import com.energy_app.export.ExportFormat;
+import com.energy_app.export.SlotExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/energy/export")
+@Tag(name = "Export API", description = "Bulk download of slot-level generation mix for analytics.")
+public class ExportController {
+    private static final int GZIP_BUFFER_BYTES = 8 * 1024;
+
+    private final SlotExporter slotExporter;
+
+    public ExportController(final SlotExporter slotExporter) {
+        this.slotExporter = slotExporter;
+    }
+
+    @Operation(summary = "Export slot-level generation mix",
+            description = "Streams one row per half-hour slot starting in [from, to) with the percentage of every "
+                    + "fuel, as CSV or NDJSON. The body is gzip-compressed when gzip=true, or when gzip is omitted and "
+                    + "the client accepts gzip.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid range, range too long or unknown format"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent exports")
+    })
+    @GetMapping
+    ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request
+    ) {
+        SlotExporter.Export export = slotExporter.prepare(from, to, ExportFormat.of(format));
+        /* Releases the reservation if the body never runs (rejected, timed out or failed before writing). */
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(export,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        export.close();
+                    }
+                });
+        boolean compressed = gzip != null ? gzip : acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(export.format().mediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(export.fileName()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if(!compressed) {
+            return response.body(export::writeTo);
+        }
+        /* Sync flush, so every page the exporter flushes leaves as its own chunk instead of waiting in the deflater. */
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(outputStream -> {
+                    try(export) {
+                        GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_BYTES, true);
+                        export.writeTo(gzipStream);
+                        gzipStream.finish();
+                    }
+                });
+    }
+
+    /* An explicit gzip entry wins over "*"; a q-value of 0 (or one that does not parse) means not acceptable. */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if(acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for(String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if(coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if(coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        if(gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    private static double quality(final String[] parts) {
+        for(int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if(parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException exception) {
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+}
@@ -0,0 +1,108 @@
+package com.energy_app.export;
+
+import com.energy_app.model.enumeration.FuelType;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.OffsetDateTime;
+import java.util.Locale;
+
+/* Row layouts of the slot export. Percentages are indexed by FuelType ordinal; NaN marks a fuel the upstream did
+  not report for the slot (an empty CSV cell, an absent NDJSON field). */
+public enum ExportFormat {
+    CSV("text/csv", "csv") {
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("from,to");
+            for(FuelType fuelType : FUEL_TYPES) {
+                writer.write(',');
+                writer.write(fuelName(fuelType));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        void writeRow(Writer writer, OffsetDateTime from, OffsetDateTime to, double[] percentages)
+                throws IOException {
+            writer.write(from.toString());
+            writer.write(',');
+            writer.write(to.toString());
+            for(double percentage : percentages) {
+                writer.write(',');
+                if(!Double.isNaN(percentage)) {
+                    writer.write(Double.toString(percentage));
+                }
+            }
+            writer.write('\n');
+        }
+    },
+
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        void writeHeader(Writer writer) {
+        }
+
+        @Override
+        void writeRow(Writer writer, OffsetDateTime from, OffsetDateTime to, double[] percentages)
+                throws IOException {
+            writer.write("{\"from\":\"");
+            writer.write(from.toString());
+            writer.write("\",\"to\":\"");
+            writer.write(to.toString());
+            writer.write("\",\"generationmix\":{");
+            boolean first = true;
+            for(int f = 0; f < percentages.length; f++) {
+                if(Double.isNaN(percentages[f])) {
+                    continue;
+                }
+                if(!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writer.write('"');
+                writer.write(fuelName(FUEL_TYPES[f]));
+                writer.write("\":");
+                writer.write(Double.toString(percentages[f]));
+            }
+            writer.write("}}\n");
+        }
+    };
+
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    /* Case-insensitive, like fuel names in query parameters. */
+    public static ExportFormat of(String name) {
+        for(ExportFormat format : values()) {
+            if(format.name().equalsIgnoreCase(name.trim())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + name);
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    abstract void writeHeader(Writer writer) throws IOException;
+
+    abstract void writeRow(Writer writer, OffsetDateTime from, OffsetDateTime to, double[] percentages)
+            throws IOException;
+
+    /* Same names as the JSON responses use. */
+    private static String fuelName(FuelType fuelType) {
+        return fuelType.name().toLowerCase(Locale.ROOT);
+    }
+}
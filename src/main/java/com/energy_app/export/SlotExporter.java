@@ -0,0 +1,180 @@
+package com.energy_app.export;
+
+import com.energy_app.client.CarbonIntensityClient;
+import com.energy_app.exception.ExternalApiException;
+import com.energy_app.exception.ServiceOverloadedException;
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* Streams slot-level generation mix for an arbitrary range. The range is fetched from the upstream in pages of
+  energy.app.export.page-size, each page is parsed interval by interval and written straight to the output, and
+  the output is flushed after every page, so memory use does not depend on the length of the range. Pages bypass
+  the generation mix cache: it only ever holds the ranges the other endpoints ask for, and an export must not evict
+  them. A page that fails upstream is fetched again, resuming after the last slot already written; once its attempts
+  are used up the output is truncated and the connection aborted, so the client sees an incomplete response. */
+@Component
+public class SlotExporter {
+    private static final Logger logger = LoggerFactory.getLogger(SlotExporter.class);
+
+    /* Exports run for seconds to minutes, so a rejected client should not retry immediately. */
+    private static final long RETRY_AFTER_SECONDS = 30;
+    private static final int BUFFER_CHARS = 16 * 1024;
+
+    private final CarbonIntensityClient carbonIntensityClient;
+    private final Duration pageSize;
+    private final Duration maxRange;
+    private final int pageAttempts;
+    private final Semaphore exports;
+
+    public SlotExporter(CarbonIntensityClient carbonIntensityClient,
+                        @Value("${energy.app.export.page-size:7d}") Duration pageSize,
+                        @Value("${energy.app.export.max-range:366d}") Duration maxRange,
+                        @Value("${energy.app.export.page-attempts:3}") int pageAttempts,
+                        @Value("${energy.app.export.max-concurrent:4}") int maxConcurrent) {
+        this.carbonIntensityClient = carbonIntensityClient;
+        this.pageSize = pageSize;
+        this.maxRange = maxRange;
+        this.pageAttempts = pageAttempts;
+        this.exports = new Semaphore(maxConcurrent);
+    }
+
+    /* Validates the range and reserves one of the concurrent export slots. Call before the response is committed;
+      the reservation is released when the export is closed, which writeTo does when it finishes. */
+    public Export prepare(final OffsetDateTime from, final OffsetDateTime to, final ExportFormat format) {
+        if(!from.isBefore(to) || Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new IllegalArgumentException("Export range must be non-empty and at most " + maxRange + ".");
+        }
+        if(!exports.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many concurrent exports.", RETRY_AFTER_SECONDS);
+        }
+        return new Export(from.withOffsetSameInstant(ZoneOffset.UTC), to.withOffsetSameInstant(ZoneOffset.UTC),
+                format);
+    }
+
+    /* Slots starting in [from, to), in upstream order. Closing is idempotent, so every path that may end the
+      export (the body, async completion, a timeout) can close it. */
+    public class Export implements AutoCloseable {
+        private final OffsetDateTime from;
+        private final OffsetDateTime to;
+        private final ExportFormat format;
+        private final double[] percentages = new double[FuelType.values().length];
+        private OffsetDateTime lastWritten;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Export(final OffsetDateTime from, final OffsetDateTime to, final ExportFormat format) {
+            this.from = from;
+            this.to = to;
+            this.format = format;
+        }
+
+        public ExportFormat format() {
+            return format;
+        }
+
+        public String fileName() {
+            return "generation-mix-" + from.toLocalDate() + "-" + to.toLocalDate() + "." + format.fileExtension();
+        }
+
+        public void writeTo(final OutputStream outputStream) throws IOException {
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                        BUFFER_CHARS);
+                format.writeHeader(writer);
+                OffsetDateTime pageStart = from;
+                while(pageStart.isBefore(to)) {
+                    OffsetDateTime pageEnd = pageStart.plus(pageSize);
+                    if(pageEnd.isAfter(to)) {
+                        pageEnd = to;
+                    }
+                    writePageWithRetries(writer, pageStart, pageEnd);
+                    writer.flush();
+                    pageStart = pageEnd;
+                }
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            if(closed.compareAndSet(false, true)) {
+                exports.release();
+            }
+        }
+
+        private void writePageWithRetries(final Writer writer, final OffsetDateTime pageStart,
+                                          final OffsetDateTime pageEnd) {
+            for(int attempt = 1; ; attempt++) {
+                try {
+                    writePage(writer, pageStart, pageEnd);
+                    return;
+                } catch (ExternalApiException exception) {
+                    if(attempt >= pageAttempts) {
+                        throw exception;
+                    }
+                    logger.warn("Export page {} - {} failed (attempt {} of {}), retrying", pageStart, pageEnd,
+                            attempt, pageAttempts);
+                }
+            }
+        }
+
+        /* The upstream also returns the slot that ends at the page start; it belongs to the previous page. Slots up
+          to the last one written are skipped, so a retried page continues where the failed attempt stopped. */
+        private void writePage(final Writer writer, final OffsetDateTime pageStart, final OffsetDateTime pageEnd) {
+            carbonIntensityClient.streamGenerationMix(pageStart.toString(), pageEnd.toString(), generationData -> {
+                if(generationData.from() == null || generationData.to() == null) {
+                    return;
+                }
+                OffsetDateTime slotStart = OffsetDateTime.parse(generationData.from());
+                if(slotStart.isBefore(pageStart) || !slotStart.isBefore(pageEnd)
+                        || (lastWritten != null && !slotStart.isAfter(lastWritten))) {
+                    return;
+                }
+                fillPercentages(generationData);
+                try {
+                    format.writeRow(writer, slotStart.withOffsetSameInstant(ZoneOffset.UTC),
+                            OffsetDateTime.parse(generationData.to()).withOffsetSameInstant(ZoneOffset.UTC),
+                            percentages);
+                    lastWritten = slotStart;
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        }
+
+        private void fillPercentages(final GenerationData generationData) {
+            Arrays.fill(percentages, Double.NaN);
+            if(generationData.generationMix() == null) {
+                return;
+            }
+            for(Fuel fuel : generationData.generationMix()) {
+                if(fuel.fuelType() != null && fuel.percentage() != null) {
+                    int index = fuel.fuelType().ordinal();
+                    percentages[index] = Double.isNaN(percentages[index])
+                            ? fuel.percentage() : percentages[index] + fuel.percentage();
+                }
+            }
+        }
+    }
+}
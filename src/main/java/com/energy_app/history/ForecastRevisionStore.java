@@ -0,0 +1,319 @@
+package com.energy_app.history;
+
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/* Every distinct version of every half-hour slot the upstream has published, keyed by slot start. Logs live in
+  memory until their estimated footprint exceeds the configured maximum; then the logs of the earliest slots
+  (which are rarely revised any more) are written to a local spill file and only their file offsets are kept.
+  A spilled slot that is revised again gets an in-memory continuation, which is merged with its spilled bytes
+  into a single new segment when it is spilled in turn, so the index holds one segment per slot.
+  Slots older than the retention period are dropped, and the spill file is rewritten once most of it is dead.
+  The spill file is scratch space for this store: a new temporary file in the spill directory is created on the
+  first spill and deleted on close, so instances sharing a host (or a JVM) never touch each other's files. */
+@Component
+public class ForecastRevisionStore implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ForecastRevisionStore.class);
+
+    /* Estimated heap bytes per map entry (entry object plus boxed key) and per spilled segment. */
+    private static final int ENTRY_BYTES = 40 + 16;
+    private static final int SEGMENT_BYTES = 32;
+    private static final long MIN_COMPACTION_BYTES = 1 << 20;
+
+    private final long maxMemoryBytes;
+    private final Path spillDirectory;
+    private Path spillFile;
+    private final Duration retention;
+
+    private final NavigableMap<Long, RevisionLog> inMemory = new TreeMap<>();
+    private final NavigableMap<Long, Segment> spilled = new TreeMap<>();
+    private long memoryBytes;
+    private long liveSpilledBytes;
+    private FileChannel channel;
+
+    /* The last two snapshots recorded: /mix and /optimal-charging each hand back their cached list instance. */
+    private final Object[] recentSnapshots = new Object[2];
+    private int nextSnapshot;
+
+    public ForecastRevisionStore(@Value("${energy.app.history.max-memory:8MB}") DataSize maxMemory,
+                                 @Value("${energy.app.history.spill-dir:${java.io.tmpdir}}") Path spillDirectory,
+                                 @Value("${energy.app.history.retention:7d}") Duration retention) {
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.spillDirectory = spillDirectory;
+        this.retention = retention;
+    }
+
+    /* Records every slot of a snapshot whose values differ from the latest known revision. Recording the same list
+      instance again (a cache hit) is a no-op. Returns the number of new revisions. */
+    public synchronized int record(final List<GenerationData> intervals, final Instant observedAt) {
+        if(intervals == recentSnapshots[0] || intervals == recentSnapshots[1]) {
+            return 0;
+        }
+        recentSnapshots[nextSnapshot] = intervals;
+        nextSnapshot = 1 - nextSnapshot;
+
+        evictBefore(observedAt.minus(retention).getEpochSecond());
+
+        int revisions = 0;
+        for(GenerationData generationData : intervals) {
+            if(generationData.from() != null && append(slotKey(generationData.from()), observedAt.getEpochSecond(),
+                    percentages(generationData))) {
+                revisions++;
+            }
+        }
+        spillIfNeeded();
+        return revisions;
+    }
+
+    /* Every revision of the slot starting at the given time, oldest first. */
+    public synchronized List<Revision> timeline(final OffsetDateTime slotStart) {
+        long key = slotStart.toEpochSecond();
+        return RevisionLog.decode(bytes(key));
+    }
+
+    /* Estimated heap footprint of the in-memory logs and the spill index. */
+    public synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    public synchronized int inMemorySlotCount() {
+        return inMemory.size();
+    }
+
+    public synchronized int spilledSlotCount() {
+        return spilled.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if(channel != null) {
+            channel.close();
+            channel = null;
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    private boolean append(final long key, final long observedAtSeconds, final Map<FuelType, Double> percentages) {
+        RevisionLog log = inMemory.get(key);
+        if(log == null) {
+            /* A spilled slot continues from its last revision on disk, so an unchanged value is not recorded again. */
+            Segment segment = spilled.get(key);
+            if(segment == null) {
+                log = new RevisionLog();
+            } else {
+                List<Revision> previous = RevisionLog.decode(read(segment));
+                log = RevisionLog.continuing(previous.get(previous.size() - 1));
+            }
+        }
+
+        int before = inMemory.containsKey(key) ? log.heapBytes() + ENTRY_BYTES : 0;
+        if(!log.append(observedAtSeconds, percentages)) {
+            return false;
+        }
+        inMemory.put(key, log);
+        memoryBytes += log.heapBytes() + ENTRY_BYTES - before;
+        return true;
+    }
+
+    /* Spills the earliest slots down to three quarters of the limit, so a full store does not spill on every
+      refresh. */
+    private void spillIfNeeded() {
+        if(memoryBytes <= maxMemoryBytes) {
+            return;
+        }
+        int spilledSlots = 0;
+        while(memoryBytes > maxMemoryBytes * 3 / 4 && !inMemory.isEmpty()) {
+            /* Written before it is removed, so a failed write leaves the log in memory. */
+            Map.Entry<Long, RevisionLog> earliest = inMemory.firstEntry();
+            byte[] bytes = bytes(earliest.getKey(), earliest.getValue());
+            long offset = write(bytes);
+            inMemory.pollFirstEntry();
+            Segment previous = spilled.put(earliest.getKey(), new Segment(offset, bytes.length));
+            if(previous != null) {
+                liveSpilledBytes -= previous.length();
+            } else {
+                memoryBytes += ENTRY_BYTES + SEGMENT_BYTES;
+            }
+            liveSpilledBytes += bytes.length;
+            memoryBytes -= earliest.getValue().heapBytes() + ENTRY_BYTES;
+            spilledSlots++;
+        }
+        logger.debug("Spilled {} slot revision logs to {}", spilledSlots, spillFile);
+    }
+
+    private void evictBefore(final long slotKey) {
+        NavigableMap<Long, RevisionLog> expired = inMemory.headMap(slotKey, false);
+        for(RevisionLog log : expired.values()) {
+            memoryBytes -= log.heapBytes() + ENTRY_BYTES;
+        }
+        expired.clear();
+
+        Iterator<Segment> iterator = spilled.headMap(slotKey, false).values().iterator();
+        while(iterator.hasNext()) {
+            liveSpilledBytes -= iterator.next().length();
+            memoryBytes -= ENTRY_BYTES + SEGMENT_BYTES;
+            iterator.remove();
+        }
+        compactIfNeeded();
+    }
+
+    /* Rewrites the live segments into a new spill file once more than half of the current one belongs to evicted
+      slots. The store only switches to the new file after it has been written completely, so a failed compaction
+      leaves the current file, channel and segment offsets in use. */
+    private void compactIfNeeded() {
+        try {
+            if(channel == null || channel.size() < MIN_COMPACTION_BYTES || channel.size() < 2 * liveSpilledBytes) {
+                return;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to compact " + spillFile, exception);
+        }
+
+        Path compacted = null;
+        FileChannel target = null;
+        Map<Long, Segment> moved = new HashMap<>();
+        try {
+            compacted = Files.createTempFile(spillDirectory, "energy-app-revisions-", ".bin");
+            target = FileChannel.open(compacted, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            for(Map.Entry<Long, Segment> entry : spilled.entrySet()) {
+                moved.put(entry.getKey(), new Segment(target.position(), entry.getValue().length()));
+                ByteBuffer buffer = ByteBuffer.wrap(read(entry.getValue()));
+                while(buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+            }
+        } catch (IOException exception) {
+            discard(target, compacted);
+            throw new UncheckedIOException("Failed to compact " + spillFile, exception);
+        } catch (UncheckedIOException exception) {
+            discard(target, compacted);
+            throw exception;
+        }
+
+        FileChannel previousChannel = channel;
+        Path previousFile = spillFile;
+        channel = target;
+        spillFile = compacted;
+        spilled.putAll(moved);
+        discard(previousChannel, previousFile);
+    }
+
+    private static void discard(final FileChannel channel, final Path file) {
+        try {
+            if(channel != null) {
+                channel.close();
+            }
+            if(file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException exception) {
+            logger.warn("Failed to delete spill file {}: {}", file, exception.getMessage());
+        }
+    }
+
+    /* The slot's full log: spilled bytes followed by the in-memory continuation, if any. */
+    private byte[] bytes(final long key) {
+        RevisionLog log = inMemory.get(key);
+        if(log == null) {
+            Segment segment = spilled.get(key);
+            return segment == null ? new byte[0] : read(segment);
+        }
+        return bytes(key, log);
+    }
+
+    private byte[] bytes(final long key, final RevisionLog log) {
+        Segment segment = spilled.get(key);
+        if(segment == null) {
+            return log.bytes();
+        }
+        byte[] spilledBytes = read(segment);
+        byte[] bytes = Arrays.copyOf(spilledBytes, spilledBytes.length + log.bytes().length);
+        System.arraycopy(log.bytes(), 0, bytes, spilledBytes.length, log.bytes().length);
+        return bytes;
+    }
+
+    private long write(final byte[] bytes) {
+        try {
+            if(channel == null) {
+                Files.createDirectories(spillDirectory);
+                spillFile = Files.createTempFile(spillDirectory, "energy-app-revisions-", ".bin");
+                channel = openSpillFile();
+            }
+            long offset = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while(buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            return offset;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to spill revisions to " + spillDirectory, exception);
+        }
+    }
+
+    private byte[] read(final Segment segment) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(segment.length());
+            while(buffer.hasRemaining()) {
+                if(channel.read(buffer, segment.offset() + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of " + spillFile);
+                }
+            }
+            return buffer.array();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to read revisions from " + spillFile, exception);
+        }
+    }
+
+    private FileChannel openSpillFile() throws IOException {
+        return FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static long slotKey(final String from) {
+        return OffsetDateTime.parse(from).toEpochSecond();
+    }
+
+    private static Map<FuelType, Double> percentages(final GenerationData generationData) {
+        if(generationData.generationMix() == null) {
+            return Collections.emptyMap();
+        }
+        Map<FuelType, Double> percentages = new EnumMap<>(FuelType.class);
+        for(Fuel fuel : generationData.generationMix()) {
+            if(fuel.fuelType() != null && fuel.percentage() != null) {
+                percentages.merge(fuel.fuelType(), fuel.percentage(), Double::sum);
+            }
+        }
+        return percentages;
+    }
+
+    private record Segment(
+            long offset,
+            int length
+    ) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.energy_app.history;
+
+import com.energy_app.model.enumeration.FuelType;
+
+import java.time.Instant;
+import java.util.Map;
+
+/* One published version of a slot's generation mix, as first seen at observedAt. */
+public record Revision(
+        Instant observedAt,
+        Map<FuelType, Double> percentages
+) {
+}
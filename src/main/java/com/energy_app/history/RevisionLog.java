@@ -0,0 +1,124 @@
+package com.energy_app.history;
+
+import com.energy_app.cache.VarInts;
+import com.energy_app.model.enumeration.FuelType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/* Append-only revision history of one slot, delta encoded. Each revision is
+    varint   seconds since the previous revision, shifted left by one; the low bit says whether a fuel presence
+             bitmask follows
+    varint   fuel presence bitmask by ordinal, only when it differs from the previous revision's
+    zig-zag  per present fuel, hundredths of a percent minus the fuel's value in the previous revision (absent
+             fuels count as zero)
+  so a typical forecast tweak of a few tenths costs one byte per fuel. The state before the first revision is
+  all zeros (epoch 0, no fuels). A log continuing a spilled one starts from the spilled log's last revision
+  instead, so the two byte sequences concatenate into one valid log. */
+final class RevisionLog {
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    /* Estimated heap bytes of a log besides its byte buffer: object, last-value array and byte[] headers. */
+    static final int OVERHEAD_BYTES = 16 + 16 + 4 * FUEL_TYPES.length + 16 + 24;
+
+    private byte[] bytes = new byte[0];
+    private final int[] last = new int[FUEL_TYPES.length];
+    private int lastMask;
+    private long lastObservedAt;
+
+    /* A log whose bytes continue a log that ends with the given revision. */
+    static RevisionLog continuing(final Revision revision) {
+        RevisionLog log = new RevisionLog();
+        log.lastMask = encodeValues(revision.percentages(), log.last);
+        log.lastObservedAt = revision.observedAt().getEpochSecond();
+        return log;
+    }
+
+    /* Appends a revision unless it is identical to the latest one. Returns whether it was appended. */
+    boolean append(final long observedAtSeconds, final Map<FuelType, Double> percentages) {
+        int[] values = new int[FUEL_TYPES.length];
+        int mask = encodeValues(percentages, values);
+        if(mask == lastMask && Arrays.equals(values, last)) {
+            return false;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + FUEL_TYPES.length);
+        long elapsed = Math.max(0, observedAtSeconds - lastObservedAt);
+        boolean maskChanged = mask != lastMask;
+        VarInts.writeUnsigned(out, elapsed << 1 | (maskChanged ? 1 : 0));
+        if(maskChanged) {
+            VarInts.writeUnsigned(out, mask);
+        }
+        for(int f = 0; f < FUEL_TYPES.length; f++) {
+            if((mask & (1 << f)) != 0) {
+                VarInts.writeSigned(out, values[f] - last[f]);
+            }
+        }
+        write(out.toByteArray());
+
+        System.arraycopy(values, 0, last, 0, values.length);
+        lastMask = mask;
+        lastObservedAt += elapsed;
+        return true;
+    }
+
+    int heapBytes() {
+        return OVERHEAD_BYTES + bytes.length;
+    }
+
+    /* Never modified in place, so callers may keep it. */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    static List<Revision> decode(final byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        List<Revision> revisions = new ArrayList<>();
+        int[] values = new int[FUEL_TYPES.length];
+        long observedAt = 0;
+        int mask = 0;
+
+        while(in.hasRemaining()) {
+            long header = VarInts.readUnsigned(in);
+            observedAt += header >>> 1;
+            if((header & 1) != 0) {
+                mask = (int) VarInts.readUnsigned(in);
+            }
+            Map<FuelType, Double> percentages = new EnumMap<>(FuelType.class);
+            for(int f = 0; f < FUEL_TYPES.length; f++) {
+                if((mask & (1 << f)) != 0) {
+                    values[f] += (int) VarInts.readSigned(in);
+                    percentages.put(FUEL_TYPES[f], values[f] / 100.0);
+                } else {
+                    values[f] = 0;
+                }
+            }
+            revisions.add(new Revision(Instant.ofEpochSecond(observedAt), percentages));
+        }
+        return revisions;
+    }
+
+    private static int encodeValues(final Map<FuelType, Double> percentages, final int[] values) {
+        int mask = 0;
+        for(Map.Entry<FuelType, Double> entry : percentages.entrySet()) {
+            int f = entry.getKey().ordinal();
+            values[f] = (int) Math.round(entry.getValue() * 100.0);
+            mask |= 1 << f;
+        }
+        return mask;
+    }
+
+    /* Grows to the exact size: revisions arrive once per upstream refresh, so the copy is cheap and no slack is
+      kept per slot. */
+    private void write(final byte[] revision) {
+        int length = bytes.length;
+        bytes = Arrays.copyOf(bytes, length + revision.length);
+        System.arraycopy(revision, 0, bytes, length, revision.length);
+    }
+}
@@ -0,0 +1,54 @@
+package com.energy_app.kernel;
+
+import java.util.Arrays;
+
+final class ScalarWindowKernels implements WindowKernels {
+    static final ScalarWindowKernels INSTANCE = new ScalarWindowKernels();
+
+    private ScalarWindowKernels() {
+    }
+
+    @Override
+    public void sumColumns(double[][] columns, int[] selected, int length, double[] out) {
+        Arrays.fill(out, 0, length, 0.0);
+        for(int c : selected) {
+            double[] column = columns[c];
+            for(int i = 0; i < length; i++) {
+                out[i] += column[i];
+            }
+        }
+    }
+
+    @Override
+    public void prefixSum(double[] values, int length, double[] out) {
+        out[0] = 0.0;
+        for(int i = 0; i < length; i++) {
+            out[i + 1] = out[i] + values[i];
+        }
+    }
+
+    @Override
+    public void windowDifferences(double[] prefix, int window, double scale, int count, double[] out) {
+        for(int i = 0; i < count; i++) {
+            out[i] = (prefix[i + window] - prefix[i]) * scale;
+        }
+    }
+
+    @Override
+    public int argMax(double[] values, int length) {
+        int best = -1;
+        double max = Double.NEGATIVE_INFINITY;
+        for(int i = 0; i < length; i++) {
+            if(best == -1 || values[i] > max) {
+                max = values[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
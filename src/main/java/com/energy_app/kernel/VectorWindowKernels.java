@@ -0,0 +1,95 @@
+package com.energy_app.kernel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/* Vector API implementation of WindowKernels; instantiated reflectively by WindowKernels.select. Every kernel
+  processes SPECIES.length() lanes per step and finishes the tail with scalar code. */
+final class VectorWindowKernels implements WindowKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    /* Column by column, so every step streams two contiguous arrays rather than gathering one lane block from
+      each selected column. */
+    @Override
+    public void sumColumns(double[][] columns, int[] selected, int length, double[] out) {
+        int bound = SPECIES.loopBound(length);
+        Arrays.fill(out, 0, length, 0.0);
+        for(int c : selected) {
+            double[] column = columns[c];
+            int i = 0;
+            for(; i < bound; i += LANES) {
+                DoubleVector.fromArray(SPECIES, out, i)
+                        .add(DoubleVector.fromArray(SPECIES, column, i))
+                        .intoArray(out, i);
+            }
+            for(; i < length; i++) {
+                out[i] += column[i];
+            }
+        }
+    }
+
+    /* A prefix sum is one loop-carried dependency. The in-register shift-and-add scan measured about twice as slow
+      as the plain loop on JDK 17 (see WindowKernelsBenchmark), so this stays scalar. */
+    @Override
+    public void prefixSum(double[] values, int length, double[] out) {
+        ScalarWindowKernels.INSTANCE.prefixSum(values, length, out);
+    }
+
+    @Override
+    public void windowDifferences(double[] prefix, int window, double scale, int count, double[] out) {
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for(; i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, prefix, i + window)
+                    .sub(DoubleVector.fromArray(SPECIES, prefix, i))
+                    .mul(scale)
+                    .intoArray(out, i);
+        }
+        for(; i < count; i++) {
+            out[i] = (prefix[i + window] - prefix[i]) * scale;
+        }
+    }
+
+    /* Two passes: a lane-wise max, then the first lane equal to it. */
+    @Override
+    public int argMax(double[] values, int length) {
+        if(length == 0) {
+            return -1;
+        }
+        int bound = SPECIES.loopBound(length);
+        double max = Double.NEGATIVE_INFINITY;
+        int i = 0;
+        if(bound > 0) {
+            DoubleVector maxima = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+            for(; i < bound; i += LANES) {
+                maxima = maxima.max(DoubleVector.fromArray(SPECIES, values, i));
+            }
+            max = maxima.reduceLanes(VectorOperators.MAX);
+        }
+        for(; i < length; i++) {
+            max = Math.max(max, values[i]);
+        }
+
+        for(i = 0; i < bound; i += LANES) {
+            int lane = DoubleVector.fromArray(SPECIES, values, i).eq(max).firstTrue();
+            if(lane < LANES) {
+                return i + lane;
+            }
+        }
+        for(; i < length; i++) {
+            if(values[i] == max) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + SPECIES + ")";
+    }
+}
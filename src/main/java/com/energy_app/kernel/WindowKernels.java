@@ -0,0 +1,53 @@
+package com.energy_app.kernel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/* Data-parallel loops behind the clean-share calculations. All arrays are column-oriented (one primitive array per
+  fuel) so that every kernel is a straight pass over contiguous doubles. Two implementations exist: a plain scalar
+  one and one using the incubating Vector API, which is only loaded when the JVM was started with
+  --add-modules jdk.incubator.vector. */
+public interface WindowKernels {
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /* out[i] = sum of columns[c][i] over every c in selected, for i in [0, length). */
+    void sumColumns(double[][] columns, int[] selected, int length, double[] out);
+
+    /* out[0] = 0 and out[i + 1] = out[i] + values[i], for i in [0, length). */
+    void prefixSum(double[] values, int length, double[] out);
+
+    /* out[i] = (prefix[i + window] - prefix[i]) * scale, for i in [0, count). */
+    void windowDifferences(double[] prefix, int window, double scale, int count, double[] out);
+
+    /* Index of the first maximum in values[0, length), or -1 when length is 0. */
+    int argMax(double[] values, int length);
+
+    String name();
+
+    static WindowKernels scalar() {
+        return ScalarWindowKernels.INSTANCE;
+    }
+
+    /* Picks the vectorized kernels if preferred and the module is present, otherwise the scalar ones. */
+    static WindowKernels select(boolean preferVectorized) {
+        Logger logger = LoggerFactory.getLogger(WindowKernels.class);
+        if(!preferVectorized) {
+            return scalar();
+        }
+        if(ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            logger.info("Module {} not present, using scalar window kernels", VECTOR_MODULE);
+            return scalar();
+        }
+        try {
+            /* Loaded by name so the scalar path never links against the incubator module. */
+            WindowKernels kernels = (WindowKernels) Class.forName("com.energy_app.kernel.VectorWindowKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            logger.info("Using {} window kernels", kernels.name());
+            return kernels;
+        } catch (ReflectiveOperationException | LinkageError exception) {
+            logger.warn("Vectorized window kernels unavailable, using scalar: {}", exception.toString());
+            return scalar();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.energy_app.model.dto;
+
+/* Webhook body. windowAvailable false means the previously announced window no longer qualifies; the window fields
+  are then null. */
+public record AlertNotificationDto(
+        String subscriptionId,
+        int durationHours,
+        double thresholdPercent,
+        boolean windowAvailable,
+        String windowStart,
+        String windowEnd,
+        Double averagePercentage
+) {
+}
@@ -0,0 +1,14 @@
+package com.energy_app.model.dto;
+
+import com.energy_app.model.enumeration.FuelType;
+
+import java.util.Set;
+
+public record AlertSubscriptionDto(
+        String id,
+        int durationHours,
+        double thresholdPercent,
+        Set<FuelType> cleanFuels,
+        String callbackUrl
+) {
+}
@@ -0,0 +1,18 @@
+package com.energy_app.model.dto;
+
+import com.energy_app.model.enumeration.FuelType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.Set;
+
+public record AlertSubscriptionRequest(
+        @Min(1) @Max(6) int durationHours,
+        @DecimalMin("0.0") @DecimalMax("100.0") double thresholdPercent,
+        @NotBlank String callbackUrl,
+        Set<FuelType> cleanFuels
+) {
+}
@@ -0,0 +1,11 @@
+package com.energy_app.model.dto;
+
+import java.util.List;
+
+/* rows.get(d - 1).averages()[s] is the average clean percentage of the window that starts at slotStarts[s] and
+  spans d half-hour slots. */
+public record CleanShareHeatmapDto(
+        List<String> slotStarts,
+        List<HeatmapRowDto> rows
+) {
+}
@@ -0,0 +1,7 @@
+package com.energy_app.model.dto;
+
+public record HeatmapRowDto(
+        int durationMinutes,
+        double[] averages
+) {
+}
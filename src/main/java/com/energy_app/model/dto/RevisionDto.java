@@ -0,0 +1,9 @@
+package com.energy_app.model.dto;
+
+import java.util.List;
+
+public record RevisionDto(
+        String observedAt,
+        List<FuelDto> generationMix
+) {
+}
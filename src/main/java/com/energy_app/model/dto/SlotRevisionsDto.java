@@ -0,0 +1,9 @@
+package com.energy_app.model.dto;
+
+import java.util.List;
+
+public record SlotRevisionsDto(
+        String slotStart,
+        List<RevisionDto> revisions
+) {
+}
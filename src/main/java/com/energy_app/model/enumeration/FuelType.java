@@ -1,7 +1,9 @@
 package com.energy_app.model.enumeration;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+/* Binary responses encode fuel types by ordinal (see BinaryEncoding), so new values must be appended. */
 public enum FuelType {
     @JsonProperty("gas")
     GAS,
@@ -28,5 +30,18 @@ public enum FuelType {
     IMPORTS,
 
     @JsonProperty("other")
-    OTHER
+    OTHER;
+
+    /* Accepts the serialized name ("wind") as well as the enum constant ("WIND"), in request bodies and query
+      parameters alike (see FuelTypeConverter). */
+    @JsonCreator
+    public static FuelType fromName(String source) {
+        String name = source.trim();
+        for(FuelType fuelType : values()) {
+            if(fuelType.name().equalsIgnoreCase(name)) {
+                return fuelType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown fuel type: " + source);
+    }
 }
@@ -0,0 +1,26 @@
+package com.energy_app.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.energy_app.GenerationMixFetch")
+@Label("Generation Mix Fetch")
+@Category({"Energy App", "Request Stages"})
+@Description("CarbonIntensityClient.fetchGenerationMix, including the cache lookup")
+@StackTrace(false)
+public class GenerationMixFetchEvent extends jdk.jfr.Event {
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+
+    @Label("Interval Count")
+    public int intervalCount;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+}
@@ -0,0 +1,199 @@
+package com.energy_app.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* Starts, downloads and stops Flight Recorder recordings on a running instance via /actuator/jfr:
+    POST   /actuator/jfr               {"settings": "default|profile|stages", "durationSeconds": 60}
+    GET    /actuator/jfr               recordings and their state
+    GET    /actuator/jfr/{id}          .jfr file with everything recorded so far (the recording keeps running)
+    DELETE /actuator/jfr/{id}          stop and discard
+  "stages" records only the com.energy_app request stage events. A recording that stopped on its own (its
+  duration elapsed) is discarded after its final download or once it is older than MAX_AGE; one closed
+  elsewhere is dropped on the next request. Dump files are deleted once they have been streamed. */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+    private static final Logger logger = LoggerFactory.getLogger(JfrEndpoint.class);
+
+    private static final String STAGES = "stages";
+    private static final Duration MAX_AGE = Duration.ofMinutes(30);
+    private static final List<Class<? extends jdk.jfr.Event>> STAGE_EVENTS = List.of(
+            GenerationMixFetchEvent.class,
+            JsonDecodeEvent.class,
+            MixAggregationEvent.class,
+            OptimalWindowEvent.class,
+            ResponseSerializationEvent.class
+    );
+
+    static final Path DUMP_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "energy-app-jfr");
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    @ReadOperation
+    public List<RecordingDescriptor> recordings() {
+        prune();
+        return recordings.values().stream()
+                .map(RecordingDescriptor::of)
+                .toList();
+    }
+
+    @WriteOperation
+    public RecordingDescriptor start(@Nullable String settings, @Nullable Long durationSeconds) {
+        prune();
+        Recording recording = newRecording(settings == null ? STAGES : settings);
+        recording.setName("energy-app-" + (settings == null ? STAGES : settings));
+        recording.setToDisk(true);
+        recording.setMaxAge(MAX_AGE);
+        if(durationSeconds != null && durationSeconds > 0) {
+            recording.setDuration(Duration.ofSeconds(durationSeconds));
+        }
+        recording.start();
+        track(recording);
+        return RecordingDescriptor.of(recording);
+    }
+
+    void track(Recording recording) {
+        recordings.put(recording.getId(), recording);
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Resource> dump(@Selector long id) {
+        prune();
+        Recording recording = recordings.get(id);
+        if(recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = null;
+        try {
+            Files.createDirectories(DUMP_DIRECTORY);
+            file = Files.createTempFile(DUMP_DIRECTORY, dumpPrefix(id), ".jfr");
+            recording.dump(file);
+        } catch (IOException exception) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Failed to dump recording " + id, exception);
+        } catch (RuntimeException exception) {
+            deleteQuietly(file);
+            throw exception;
+        }
+        /* Nothing more will be recorded, so this was the last useful download. */
+        if(recording.getState() == RecordingState.STOPPED && recordings.remove(id, recording)) {
+            recording.close();
+        }
+        return new WebEndpointResponse<>(new DeleteOnCloseResource(file));
+    }
+
+    @DeleteOperation
+    public void stop(@Selector long id) {
+        Recording recording = recordings.remove(id);
+        if(recording != null) {
+            recording.close();
+        }
+        if(!Files.isDirectory(DUMP_DIRECTORY)) {
+            return;
+        }
+        /* Dumps that were handed out but never read. */
+        try(DirectoryStream<Path> dumps = Files.newDirectoryStream(DUMP_DIRECTORY, dumpPrefix(id) + "*.jfr")) {
+            for(Path dump : dumps) {
+                Files.deleteIfExists(dump);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to delete dumps of recording " + id, exception);
+        }
+    }
+
+    private void prune() {
+        Instant expired = Instant.now().minus(MAX_AGE);
+        recordings.values().removeIf(recording -> switch(recording.getState()) {
+            case CLOSED -> true;
+            case STOPPED -> {
+                boolean stale = recording.getStopTime() != null && recording.getStopTime().isBefore(expired);
+                if(stale) {
+                    recording.close();
+                }
+                yield stale;
+            }
+            default -> false;
+        });
+    }
+
+    private static void deleteQuietly(@Nullable Path file) {
+        if(file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            logger.warn("Failed to delete JFR dump {}: {}", file, exception.getMessage());
+        }
+    }
+
+    static String dumpPrefix(long id) {
+        return "recording-" + id + "-";
+    }
+
+    private static Recording newRecording(String settings) {
+        if(STAGES.equals(settings)) {
+            Recording recording = new Recording();
+            STAGE_EVENTS.forEach(event -> recording.enable(event).withoutStackTrace());
+            return recording;
+        }
+        try {
+            return new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException exception) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings, exception);
+        }
+    }
+
+    /* Removes the dump once the response has been written from it. */
+    static class DeleteOnCloseResource extends FileSystemResource {
+        DeleteOnCloseResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+
+    public record RecordingDescriptor(
+            long id,
+            String name,
+            RecordingState state,
+            String startTime,
+            long sizeBytes
+    ) {
+        static RecordingDescriptor of(Recording recording) {
+            return new RecordingDescriptor(recording.getId(), recording.getName(), recording.getState(),
+                    String.valueOf(recording.getStartTime()), recording.getSize());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.energy_app.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.energy_app.JsonDecode")
+@Label("JSON Decode")
+@Category({"Energy App", "Request Stages"})
+@Description("Jackson decoding of a JSON body, e.g. the upstream generation mix response")
+@StackTrace(false)
+public class JsonDecodeEvent extends jdk.jfr.Event {
+    @Label("Target Type")
+    public String targetType;
+}
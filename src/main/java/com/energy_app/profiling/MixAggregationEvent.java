@@ -0,0 +1,23 @@
+package com.energy_app.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.energy_app.MixAggregation")
+@Label("Mix Aggregation")
+@Category({"Energy App", "Request Stages"})
+@Description("calculateAveragesAndPercentage for /mix")
+@StackTrace(false)
+public class MixAggregationEvent extends jdk.jfr.Event {
+    @Label("Interval Count")
+    public int intervalCount;
+
+    @Label("Day Count")
+    public int dayCount;
+
+    @Label("Clean Fuel Count")
+    public int cleanFuelCount;
+}
@@ -0,0 +1,27 @@
+package com.energy_app.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.energy_app.OptimalWindow")
+@Label("Optimal Window")
+@Category({"Energy App", "Request Stages"})
+@Description("calculateOptimalWindow for /optimal-charging, including any prefix-sum rebuild")
+@StackTrace(false)
+public class OptimalWindowEvent extends jdk.jfr.Event {
+    @Label("Interval Count")
+    public int intervalCount;
+
+    @Label("Window Size")
+    @Description("Window length in half-hour intervals")
+    public int windowSize;
+
+    @Label("Clean Fuel Count")
+    public int cleanFuelCount;
+
+    @Label("Prefix Sums Rebuilt")
+    public boolean prefixSumsRebuilt;
+}
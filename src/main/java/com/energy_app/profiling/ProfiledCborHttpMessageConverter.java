@@ -0,0 +1,31 @@
+package com.energy_app.profiling;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/* CBOR counterpart of ProfiledJsonHttpMessageConverter for response serialization. */
+public class ProfiledCborHttpMessageConverter extends JacksonCborHttpMessageConverter {
+
+    public ProfiledCborHttpMessageConverter(CBORMapper cborMapper) {
+        super(cborMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, ResolvableType resolvableType, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) throws IOException {
+        ResponseSerializationEvent event = new ResponseSerializationEvent();
+        event.begin();
+        super.writeInternal(object, resolvableType, outputMessage, hints);
+        event.end();
+        if(event.shouldCommit()) {
+            event.bodyType = resolvableType.toString();
+            event.mediaType = String.valueOf(outputMessage.getHeaders().getContentType());
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.energy_app.profiling;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/* JSON converter that emits JsonDecodeEvent and ResponseSerializationEvent. Without an active recording the
+  events are never committed and the JIT removes them. */
+public class ProfiledJsonHttpMessageConverter extends JacksonJsonHttpMessageConverter {
+
+    public ProfiledJsonHttpMessageConverter(JsonMapper jsonMapper) {
+        super(jsonMapper);
+    }
+
+    @Override
+    public Object read(ResolvableType type, HttpInputMessage inputMessage, Map<String, Object> hints)
+            throws IOException {
+        JsonDecodeEvent event = new JsonDecodeEvent();
+        event.begin();
+        Object result = super.read(type, inputMessage, hints);
+        event.end();
+        if(event.shouldCommit()) {
+            event.targetType = type.toString();
+            event.commit();
+        }
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(Object object, ResolvableType resolvableType, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) throws IOException {
+        ResponseSerializationEvent event = new ResponseSerializationEvent();
+        event.begin();
+        super.writeInternal(object, resolvableType, outputMessage, hints);
+        event.end();
+        if(event.shouldCommit()) {
+            event.bodyType = resolvableType.toString();
+            event.mediaType = String.valueOf(outputMessage.getHeaders().getContentType());
+            event.commit();
+        }
+    }
+}
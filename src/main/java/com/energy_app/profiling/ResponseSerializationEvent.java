@@ -0,0 +1,20 @@
+package com.energy_app.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.energy_app.ResponseSerialization")
+@Label("Response Serialization")
+@Category({"Energy App", "Request Stages"})
+@Description("Writing a response body with Jackson (JSON or CBOR)")
+@StackTrace(false)
+public class ResponseSerializationEvent extends jdk.jfr.Event {
+    @Label("Body Type")
+    public String bodyType;
+
+    @Label("Media Type")
+    public String mediaType;
+}
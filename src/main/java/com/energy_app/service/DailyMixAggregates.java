@@ -0,0 +1,146 @@
+package com.energy_app.service;
+
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/* Running per-day, per-fuel sums and counts of half-hour slot percentages. Inserting or revising a slot subtracts
+  its previous contribution and adds the new one, so a refresh costs time proportional to the number of slots that
+  actually changed and reading the daily averages never re-scans the horizon. */
+public class DailyMixAggregates {
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    /* Slots keyed by their "from" timestamp as returned by the API. */
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final NavigableMap<LocalDate, DayAccumulator> days = new TreeMap<>();
+
+    private List<GenerationData> lastApplied;
+
+    /* Applies every slot of a snapshot; unchanged slots are detected and skipped. Applying the same list instance
+      twice (a cache hit) is a no-op. */
+    public synchronized void apply(final List<GenerationData> intervals) {
+        if(intervals == lastApplied) {
+            return;
+        }
+        for(GenerationData generationData : intervals) {
+            upsert(generationData);
+        }
+        lastApplied = intervals;
+    }
+
+    /* Returns true if the slot was new or its values changed. */
+    public synchronized boolean upsert(final GenerationData generationData) {
+        double[] percentages = new double[FUEL_TYPES.length];
+        boolean[] present = new boolean[FUEL_TYPES.length];
+        if(generationData.generationMix() != null) {
+            for(Fuel fuel : generationData.generationMix()) {
+                if(fuel.fuelType() != null && fuel.percentage() != null) {
+                    percentages[fuel.fuelType().ordinal()] += fuel.percentage();
+                    present[fuel.fuelType().ordinal()] = true;
+                }
+            }
+        }
+
+        Slot previous = slots.get(generationData.from());
+        if(previous != null
+                && Arrays.equals(previous.percentages(), percentages)
+                && Arrays.equals(previous.present(), present)) {
+            return false;
+        }
+
+        LocalDate day = previous != null
+                ? previous.day()
+                : OffsetDateTime.parse(generationData.from()).toLocalDate();
+        DayAccumulator accumulator = days.computeIfAbsent(day, d -> new DayAccumulator());
+        if(previous != null) {
+            accumulator.subtract(previous);
+        }
+
+        Slot slot = new Slot(day, percentages, present);
+        accumulator.add(slot);
+        slots.put(generationData.from(), slot);
+        return true;
+    }
+
+    /* Drops all slots of days before the given day. */
+    public synchronized void evictBefore(final LocalDate day) {
+        NavigableMap<LocalDate, DayAccumulator> expired = days.headMap(day, false);
+        if(expired.isEmpty()) {
+            return;
+        }
+        expired.clear();
+
+        Iterator<Slot> iterator = slots.values().iterator();
+        while(iterator.hasNext()) {
+            if(iterator.next().day().isBefore(day)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /* Average percentage per fuel for each day in [fromInclusive, toExclusive), ordered by day. Fuels with no
+      samples on a day are omitted, as are days without any slots. */
+    public synchronized NavigableMap<LocalDate, Map<FuelType, Double>> averages(final LocalDate fromInclusive,
+                                                                                final LocalDate toExclusive) {
+        NavigableMap<LocalDate, Map<FuelType, Double>> result = new TreeMap<>();
+        for(Map.Entry<LocalDate, DayAccumulator> entry : days.subMap(fromInclusive, true, toExclusive, false)
+                .entrySet()) {
+            Map<FuelType, Double> averageByFuel = entry.getValue().averages();
+            if(!averageByFuel.isEmpty()) {
+                result.put(entry.getKey(), averageByFuel);
+            }
+        }
+        return result;
+    }
+
+    private record Slot(
+            LocalDate day,
+            double[] percentages,
+            boolean[] present
+    ) {
+    }
+
+    private static class DayAccumulator {
+        private final double[] sums = new double[FUEL_TYPES.length];
+        private final int[] counts = new int[FUEL_TYPES.length];
+
+        void add(final Slot slot) {
+            for(int f = 0; f < FUEL_TYPES.length; f++) {
+                if(slot.present()[f]) {
+                    sums[f] += slot.percentages()[f];
+                    counts[f]++;
+                }
+            }
+        }
+
+        void subtract(final Slot slot) {
+            for(int f = 0; f < FUEL_TYPES.length; f++) {
+                if(slot.present()[f]) {
+                    sums[f] -= slot.percentages()[f];
+                    counts[f]--;
+                }
+            }
+        }
+
+        Map<FuelType, Double> averages() {
+            Map<FuelType, Double> averageByFuel = new EnumMap<>(FuelType.class);
+            for(int f = 0; f < FUEL_TYPES.length; f++) {
+                if(counts[f] > 0) {
+                    averageByFuel.put(FUEL_TYPES[f], sums[f] / counts[f]);
+                }
+            }
+            return averageByFuel;
+        }
+    }
+}
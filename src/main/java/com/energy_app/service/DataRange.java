@@ -0,0 +1,8 @@
+package com.energy_app.service;
+
+/* Upstream query range; from and to are passed to the Carbon Intensity API as-is. */
+public record DataRange(
+        String from,
+        String to
+) {
+}
@@ -1,11 +1,21 @@
 package com.energy_app.service;
 
+import com.energy_app.model.dto.CleanShareHeatmapDto;
 import com.energy_app.model.dto.DailyMixDto;
 import com.energy_app.model.dto.OptimalWindowDto;
+import com.energy_app.model.dto.SlotRevisionsDto;
+import com.energy_app.model.enumeration.FuelType;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Set;
 
 public interface EnergyService {
-    List<DailyMixDto> getGenerationMix();
-    OptimalWindowDto findOptimalChargingWindow(int numberOfHours);
+    List<DailyMixDto> getGenerationMix(Set<FuelType> cleanFuels);
+    OptimalWindowDto findOptimalChargingWindow(int numberOfHours, Set<FuelType> cleanFuels);
+    CleanShareHeatmapDto getCleanShareHeatmap(Set<FuelType> cleanFuels);
+    SlotRevisionsDto getSlotRevisions(OffsetDateTime slotStart, OffsetDateTime at);
+    void refreshOptimalChargingData();
+    boolean isGenerationMixCached();
+    boolean isOptimalChargingWindowCached();
 }
@@ -2,59 +2,78 @@ package com.energy_app.service;
 
 import com.energy_app.client.CarbonIntensityClient;
 import com.energy_app.exception.ExternalApiException;
+import com.energy_app.history.ForecastRevisionStore;
+import com.energy_app.history.Revision;
+import com.energy_app.kernel.WindowKernels;
+import com.energy_app.model.dto.CleanShareHeatmapDto;
 import com.energy_app.model.dto.DailyMixDto;
 import com.energy_app.model.dto.FuelDto;
+import com.energy_app.model.dto.HeatmapRowDto;
 import com.energy_app.model.dto.OptimalWindowDto;
+import com.energy_app.model.dto.RevisionDto;
+import com.energy_app.model.dto.SlotRevisionsDto;
 import com.energy_app.model.enumeration.FuelType;
 import com.energy_app.model.external.CarbonIntensityResponse;
-import com.energy_app.model.external.Fuel;
 import com.energy_app.model.external.GenerationData;
+import com.energy_app.profiling.GenerationMixFetchEvent;
+import com.energy_app.profiling.MixAggregationEvent;
+import com.energy_app.profiling.OptimalWindowEvent;
 import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-
-import static com.energy_app.config.CleanFuels.CLEAN;
-import static java.util.stream.Collectors.*;
+import java.util.Set;
 
 @Service
 public class EnergyServiceImpl implements EnergyService {
+    private static final Logger logger = LoggerFactory.getLogger(EnergyServiceImpl.class);
+
     private final CarbonIntensityClient carbonIntensityClient;
+    private final WindowKernels windowKernels;
+    private final ForecastRevisionStore forecastRevisionStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final int generationMixDays;
     private final int searchWindowHours;
 
+    /* Prefix sums for the most recent optimal-charging snapshot, rebuilt only when the cached data changes. */
+    private volatile FuelPrefixSums fuelPrefixSums;
+
+    /* Daily averages for /mix, updated only for slots that changed since the previous snapshot. */
+    private final DailyMixAggregates dailyMixAggregates = new DailyMixAggregates();
+
     public EnergyServiceImpl(CarbonIntensityClient carbonIntensityClient,
+                             WindowKernels windowKernels,
+                             ForecastRevisionStore forecastRevisionStore,
+                             ApplicationEventPublisher eventPublisher,
                              @Value("${energy.app.generation-mix.days}") int generationMixDays,
                              @Value("${energy.app.optimization.search-window-hours}") int searchWindowHours) {
         this.carbonIntensityClient = carbonIntensityClient;
+        this.windowKernels = windowKernels;
+        this.forecastRevisionStore = forecastRevisionStore;
+        this.eventPublisher = eventPublisher;
         this.generationMixDays = generationMixDays;
         this.searchWindowHours = searchWindowHours;
     }
 
-    public List<DailyMixDto> getGenerationMix() {
-        LocalDate today = LocalDate.now();
-        String from = today.atStartOfDay().toString();
-        String to = today.plusDays(generationMixDays).atStartOfDay().toString();
-        CarbonIntensityResponse carbonIntensityResponse = getCarbonIntensityResponse(from, to);
+    public List<DailyMixDto> getGenerationMix(Set<FuelType> cleanFuels) {
+        CarbonIntensityResponse carbonIntensityResponse = getCarbonIntensityResponse(generationMixRange());
 
-        return calculateAveragesAndPercentage(carbonIntensityResponse);
+        return calculateAveragesAndPercentage(carbonIntensityResponse, cleanFuels);
     }
 
-    public OptimalWindowDto findOptimalChargingWindow(int numberOfHours) {
-        OffsetDateTime start = snapToNextHalfHour(OffsetDateTime.now());
-
-        /* Search window is a rolling 48 hours from the next half-hour slot.
-          Using “next 2 calendar days” would truncate today's remaining hours (e.g. morning requests)
-          and could miss an optimal window later today, while also not providing a full second day of data. */
-        OffsetDateTime end = start.plusHours(searchWindowHours);
-        CarbonIntensityResponse carbonIntensityResponse = getCarbonIntensityResponse(start.toString(),
-                end.toString());
+    public OptimalWindowDto findOptimalChargingWindow(int numberOfHours, Set<FuelType> cleanFuels) {
+        CarbonIntensityResponse carbonIntensityResponse = getCarbonIntensityResponse(optimalChargingRange());
 
         List<GenerationData> intervals = carbonIntensityResponse.data();
 
@@ -64,60 +83,181 @@ public class EnergyServiceImpl implements EnergyService {
             throw new IllegalArgumentException("Not enough data from api.");
         }
 
-        return calculateOptimalWindow(intervals, windowSize);
+        OptimalWindowEvent event = new OptimalWindowEvent();
+        event.begin();
+        FuelPrefixSums previous = fuelPrefixSums;
+        FuelPrefixSums prefixSums = prefixSumsFor(intervals);
+        OptimalWindowDto optimalWindow = calculateOptimalWindow(prefixSums, windowSize, cleanFuels);
+        event.end();
+        if(event.shouldCommit()) {
+            event.intervalCount = intervals.size();
+            event.windowSize = windowSize;
+            event.cleanFuelCount = cleanFuels.size();
+            event.prefixSumsRebuilt = prefixSums != previous;
+            event.commit();
+        }
+
+        return optimalWindow;
     }
 
-    private CarbonIntensityResponse getCarbonIntensityResponse(final String from, final String to) {
-        CarbonIntensityResponse carbonIntensityResponse = carbonIntensityClient.fetchGenerationMix(from, to);
+    /* One row per window length (1 slot up to the whole search window), each one a single data-parallel pass over
+      the clean-percentage prefix sums. */
+    public CleanShareHeatmapDto getCleanShareHeatmap(Set<FuelType> cleanFuels) {
+        CarbonIntensityResponse carbonIntensityResponse = getCarbonIntensityResponse(optimalChargingRange());
+
+        FuelPrefixSums prefixSums = prefixSumsFor(carbonIntensityResponse.data());
+        double[] cleanPrefix = prefixSums.cleanPrefix(cleanFuels);
+        int slots = prefixSums.size();
+
+        List<HeatmapRowDto> rows = new ArrayList<>(slots);
+        for(int windowSize = 1; windowSize <= slots; windowSize++) {
+            double[] averages = new double[slots - windowSize + 1];
+            windowKernels.windowDifferences(cleanPrefix, windowSize, 1.0 / windowSize, averages.length, averages);
+            for(int i = 0; i < averages.length; i++) {
+                averages[i] = round2(averages[i]);
+            }
+            rows.add(new HeatmapRowDto(windowSize * 30, averages));
+        }
+
+        List<String> slotStarts = new ArrayList<>(slots);
+        for(int i = 0; i < slots; i++) {
+            slotStarts.add(prefixSums.interval(i).from());
+        }
+        return new CleanShareHeatmapDto(slotStarts, rows);
+    }
+
+    /* With "at", only the revision that was current at that moment, i.e. what a client would have been told. */
+    public SlotRevisionsDto getSlotRevisions(OffsetDateTime slotStart, OffsetDateTime at) {
+        List<Revision> timeline = forecastRevisionStore.timeline(slotStart);
+        if(at != null) {
+            Instant cutoff = at.toInstant();
+            timeline = timeline.stream()
+                    .filter(revision -> !revision.observedAt().isAfter(cutoff))
+                    .reduce((first, second) -> second)
+                    .map(List::of)
+                    .orElse(List.of());
+        }
+
+        List<RevisionDto> revisions = timeline.stream()
+                .map(revision -> new RevisionDto(revision.observedAt().toString(),
+                        revision.percentages().entrySet().stream()
+                                .sorted(Map.Entry.<FuelType, Double>comparingByValue().reversed())
+                                .map(e -> new FuelDto(e.getKey(), e.getValue()))
+                                .toList()))
+                .toList();
+        return new SlotRevisionsDto(slotStart.withOffsetSameInstant(ZoneOffset.UTC).toString(), revisions);
+    }
+
+    /* Fetches the optimal-charging range without a request, so that alert subscriptions are evaluated even when
+      nobody polls. A snapshot that is still cached is a no-op. */
+    public void refreshOptimalChargingData() {
+        prefixSumsFor(getCarbonIntensityResponse(optimalChargingRange()).data());
+    }
+
+    public boolean isGenerationMixCached() {
+        DataRange range = generationMixRange();
+        return carbonIntensityClient.isCached(range.from(), range.to());
+    }
+
+    public boolean isOptimalChargingWindowCached() {
+        DataRange range = optimalChargingRange();
+        return carbonIntensityClient.isCached(range.from(), range.to());
+    }
+
+    private DataRange generationMixRange() {
+        LocalDate today = LocalDate.now();
+        return new DataRange(today.atStartOfDay().toString(),
+                today.plusDays(generationMixDays).atStartOfDay().toString());
+    }
+
+    private DataRange optimalChargingRange() {
+        OffsetDateTime start = snapToNextHalfHour(OffsetDateTime.now());
+
+        /* Search window is a rolling 48 hours from the next half-hour slot.
+          Using “next 2 calendar days” would truncate today's remaining hours (e.g. morning requests)
+          and could miss an optimal window later today, while also not providing a full second day of data. */
+        OffsetDateTime end = start.plusHours(searchWindowHours);
+        return new DataRange(start.toString(), end.toString());
+    }
+
+    private FuelPrefixSums prefixSumsFor(final List<GenerationData> intervals) {
+        FuelPrefixSums current = fuelPrefixSums;
+        if(current == null || !current.isBuiltFrom(intervals)) {
+            current = FuelPrefixSums.of(intervals, windowKernels);
+            fuelPrefixSums = current;
+            eventPublisher.publishEvent(new ForecastRefreshedEvent(current));
+        }
+        return current;
+    }
+
+    private CarbonIntensityResponse getCarbonIntensityResponse(final DataRange range) {
+        GenerationMixFetchEvent event = new GenerationMixFetchEvent();
+        /* The cache is only probed while a recording is running, keeping the disabled path free. */
+        boolean cacheHit = event.isEnabled() && carbonIntensityClient.isCached(range.from(), range.to());
+        event.begin();
+        CarbonIntensityResponse carbonIntensityResponse = carbonIntensityClient.fetchGenerationMix(range.from(),
+                range.to());
+        event.end();
+        if(event.shouldCommit()) {
+            event.from = range.from();
+            event.to = range.to();
+            event.cacheHit = cacheHit;
+            event.intervalCount = carbonIntensityResponse == null || carbonIntensityResponse.data() == null
+                    ? 0 : carbonIntensityResponse.data().size();
+            event.commit();
+        }
 
         if(carbonIntensityResponse == null || carbonIntensityResponse.data() == null) {
             throw new ExternalApiException("Received empty data from Carbon Intensity API.");
         }
+        recordRevisions(carbonIntensityResponse.data());
 
         return carbonIntensityResponse;
     }
 
-    private List<DailyMixDto> calculateAveragesAndPercentage(CarbonIntensityResponse carbonIntensityResponse) {
-        Map<LocalDate, List<GenerationData>> groupedDays =
-                carbonIntensityResponse.data().stream()
-                        .filter(gd -> {
-                            LocalDate dataDate = OffsetDateTime.parse(gd.from()).toLocalDate();
+    /* Revision history is a side feature: a failing spill file must not fail the request that fetched the data. */
+    private void recordRevisions(final List<GenerationData> intervals) {
+        try {
+            forecastRevisionStore.record(intervals, Instant.now());
+        } catch (RuntimeException exception) {
+            logger.warn("Failed to record forecast revisions: {}", exception.getMessage());
+        }
+    }
 
-                            /* When requesting data from today 00:00, the API may include the 23:30–00:00 interval,
-                              which belongs to the previous day. Filter it out to avoid mixing yesterday into
-                              today's results. */
-                            return !dataDate.isBefore(LocalDate.now());
-                        })
-                        .collect(groupingBy(gd -> OffsetDateTime.parse(gd.from()).toLocalDate()));
+    private List<DailyMixDto> calculateAveragesAndPercentage(CarbonIntensityResponse carbonIntensityResponse,
+                                                             Set<FuelType> cleanFuels) {
+        MixAggregationEvent event = new MixAggregationEvent();
+        event.begin();
+        LocalDate today = LocalDate.now();
 
-        Map<LocalDate, Map<FuelType, Double>> averageByFuelForDay = calculateAverageByFuelForDay(groupedDays);
+        /* When requesting data from today 00:00, the API may include the 23:30–00:00 interval,
+          which belongs to the previous day. Evicting and reading from today keeps yesterday out of
+          today's results. */
+        dailyMixAggregates.evictBefore(today);
+        dailyMixAggregates.apply(carbonIntensityResponse.data());
 
-        return averageByFuelForDay.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(e -> toDailyMixDto(e.getKey(), e.getValue()))
+        List<DailyMixDto> dailyMix = dailyMixAggregates.averages(today, today.plusDays(generationMixDays))
+                .entrySet().stream()
+                .map(e -> toDailyMixDto(e.getKey(), e.getValue(), cleanFuels))
                 .toList();
-    }
+        event.end();
+        if(event.shouldCommit()) {
+            event.intervalCount = carbonIntensityResponse.data().size();
+            event.dayCount = dailyMix.size();
+            event.cleanFuelCount = cleanFuels.size();
+            event.commit();
+        }
 
-    private Map<LocalDate, Map<FuelType, Double>> calculateAverageByFuelForDay(Map<LocalDate, List<GenerationData>> groupedDays) {
-        return groupedDays.entrySet().stream()
-                .collect(toMap(
-                        Map.Entry::getKey,
-                        value -> value.getValue().stream()
-                                .flatMap(gd -> gd.generationMix().stream())
-                                .collect(Collectors.groupingBy(
-                                        Fuel::fuelType,
-                                        averagingDouble(Fuel::percentage)
-                                ))
-                ));
+        return dailyMix;
     }
 
-    private DailyMixDto toDailyMixDto(LocalDate day, Map<FuelType, Double> averageByFuel) {
+    private DailyMixDto toDailyMixDto(LocalDate day, Map<FuelType, Double> averageByFuel, Set<FuelType> cleanFuels) {
         List<FuelDto> metrics = averageByFuel.entrySet().stream()
                 .sorted(Map.Entry.<FuelType, Double>comparingByValue().reversed())
                 .map(e -> new FuelDto(e.getKey(), round2(e.getValue())))
                 .toList();
 
-        double cleanPerc = round2(CLEAN.stream()
+        double cleanPerc = round2(cleanFuels.stream()
                 .mapToDouble(ft -> averageByFuel.getOrDefault(ft, 0.0))
                 .sum());
 
@@ -144,36 +284,21 @@ public class EnergyServiceImpl implements EnergyService {
         return baseTime.plusMinutes(30);
     }
 
-    private OptimalWindowDto calculateOptimalWindow(@NotNull List<GenerationData> intervals, int windowSize) {
-        double maxTotalPerc = -1.0;
-        int bestStartIndex = -1;
-
-        for(int i = 0; i <= intervals.size() - windowSize; i++) {
-            double currentSum = 0;
-            for(int j = 0; j < windowSize; j++) {
-                currentSum += calculateCleanEnergyPercentageInInterval(intervals.get(i+j));
-            }
-
-            if(currentSum > maxTotalPerc) {
-                maxTotalPerc = currentSum;
-                bestStartIndex = i;
-            }
-        }
+    private OptimalWindowDto calculateOptimalWindow(@NotNull FuelPrefixSums prefixSums, int windowSize,
+                                                    Set<FuelType> cleanFuels) {
+        int windowCount = prefixSums.size() - windowSize + 1;
+        double[] windowSums = new double[Math.max(windowCount, 0)];
+        windowKernels.windowDifferences(prefixSums.cleanPrefix(cleanFuels), windowSize, 1.0, windowSums.length,
+                windowSums);
+        int bestStartIndex = windowKernels.argMax(windowSums, windowSums.length);
 
         if(bestStartIndex == -1) {
             throw new IllegalArgumentException("Could not find optimal charging window.");
         }
 
-        GenerationData startInterval = intervals.get(bestStartIndex);
-        GenerationData endInterval = intervals.get(bestStartIndex + windowSize - 1);
-        double averagePerc = maxTotalPerc / windowSize;
+        GenerationData startInterval = prefixSums.interval(bestStartIndex);
+        GenerationData endInterval = prefixSums.interval(bestStartIndex + windowSize - 1);
+        double averagePerc = windowSums[bestStartIndex] / windowSize;
         return new OptimalWindowDto(startInterval.from(), endInterval.to(), round2(averagePerc));
     }
-
-    private double calculateCleanEnergyPercentageInInterval(GenerationData generationData) {
-        return generationData.generationMix().stream()
-                .filter(fuel -> CLEAN.contains(fuel.fuelType()))
-                .mapToDouble(Fuel::percentage)
-                .sum();
-    }
 }
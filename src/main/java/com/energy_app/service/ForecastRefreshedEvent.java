@@ -0,0 +1,7 @@
+package com.energy_app.service;
+
+/* Published when a new optimal-charging snapshot has been fetched and its prefix sums built. */
+public record ForecastRefreshedEvent(
+        FuelPrefixSums prefixSums
+) {
+}
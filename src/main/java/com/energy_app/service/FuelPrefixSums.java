@@ -0,0 +1,74 @@
+package com.energy_app.service;
+
+import com.energy_app.kernel.WindowKernels;
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+
+import java.util.List;
+import java.util.Set;
+
+/* Per-fuel prefix sums over a snapshot of half-hour intervals. The clean percentage of any window for any
+  fuel subset is a combination of at most FuelType.values().length prefix differences, so a custom clean-fuel
+  set never requires a re-scan of the generation mix. Column sums and prefix sums run through WindowKernels. */
+public final class FuelPrefixSums {
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    private final List<GenerationData> intervals;
+    private final WindowKernels kernels;
+
+    /* prefixByFuel[fuel.ordinal()][i] is the sum of that fuel's percentage over intervals [0, i). */
+    private final double[][] prefixByFuel;
+
+    private FuelPrefixSums(List<GenerationData> intervals, WindowKernels kernels, double[][] prefixByFuel) {
+        this.intervals = intervals;
+        this.kernels = kernels;
+        this.prefixByFuel = prefixByFuel;
+    }
+
+    public static FuelPrefixSums of(final List<GenerationData> intervals, final WindowKernels kernels) {
+        int size = intervals.size();
+        double[][] percentageByFuel = new double[FUEL_TYPES.length][size];
+
+        for(int i = 0; i < size; i++) {
+            List<Fuel> generationMix = intervals.get(i).generationMix();
+            if(generationMix != null) {
+                for(Fuel fuel : generationMix) {
+                    if(fuel.fuelType() != null && fuel.percentage() != null) {
+                        percentageByFuel[fuel.fuelType().ordinal()][i] += fuel.percentage();
+                    }
+                }
+            }
+        }
+
+        double[][] prefixByFuel = new double[FUEL_TYPES.length][size + 1];
+        for(int f = 0; f < FUEL_TYPES.length; f++) {
+            kernels.prefixSum(percentageByFuel[f], size, prefixByFuel[f]);
+        }
+
+        return new FuelPrefixSums(intervals, kernels, prefixByFuel);
+    }
+
+    /* Identity check: cached responses hand back the same list instance, so a snapshot stays valid until the
+      underlying cache entry is replaced. */
+    public boolean isBuiltFrom(final List<GenerationData> intervals) {
+        return this.intervals == intervals;
+    }
+
+    public int size() {
+        return intervals.size();
+    }
+
+    public GenerationData interval(final int index) {
+        return intervals.get(index);
+    }
+
+    /* Prefix sums of the given fuels' combined percentage: element i is the sum over intervals [0, i), so the
+      clean total of any window [start, end) is element end minus element start. */
+    public double[] cleanPrefix(final Set<FuelType> fuels) {
+        int[] selected = fuels.stream().mapToInt(Enum::ordinal).toArray();
+        double[] cleanPrefix = new double[size() + 1];
+        kernels.sumColumns(prefixByFuel, selected, cleanPrefix.length, cleanPrefix);
+        return cleanPrefix;
+    }
+}
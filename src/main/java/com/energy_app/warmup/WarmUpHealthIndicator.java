@@ -0,0 +1,26 @@
+package com.energy_app.warmup;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/* Part of the readiness group (see application.properties); liveness is unaffected. */
+@Component
+public class WarmUpHealthIndicator implements HealthIndicator {
+    private final WarmUpRunner warmUpRunner;
+
+    public WarmUpHealthIndicator(WarmUpRunner warmUpRunner) {
+        this.warmUpRunner = warmUpRunner;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmUpRunner.isReady() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("state", warmUpRunner.getState())
+                .withDetail("timedOut", warmUpRunner.isTimedOut())
+                .withDetail("iterations", warmUpRunner.getCompletedIterations())
+                .withDetail("elapsedMs", warmUpRunner.elapsed().toMillis())
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.energy_app.warmup;
+
+import com.energy_app.config.CleanFuels;
+import com.energy_app.service.EnergyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/* Populates the generationMix cache for the current /mix and /optimal-charging ranges and then replays both
+  computations until the hot paths in EnergyServiceImpl are JIT-compiled. Readiness is reported through
+  WarmUpHealthIndicator, so instances only receive traffic once the first requests will be fast. When a failed
+  warm-up does not count as ready, it is retried with exponential backoff until it succeeds, so a transient
+  upstream error cannot keep the instance out of rotation for good. */
+@Component
+public class WarmUpRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final int MIN_HOURS = 1;
+    private static final int MAX_HOURS = 6;
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final EnergyService energyService;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration timeout;
+    private final boolean readyOnFailure;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private volatile State state = State.PENDING;
+    private volatile long startedAtNanos;
+    private volatile long finishedAtNanos;
+    private volatile int completedIterations;
+
+    public WarmUpRunner(EnergyService energyService,
+                        @Value("${energy.app.warm-up.enabled:true}") boolean enabled,
+                        @Value("${energy.app.warm-up.iterations:2000}") int iterations,
+                        @Value("${energy.app.warm-up.timeout:30s}") Duration timeout,
+                        @Value("${energy.app.warm-up.ready-on-failure:true}") boolean readyOnFailure,
+                        @Value("${energy.app.warm-up.retry-backoff:1s}") Duration retryBackoff,
+                        @Value("${energy.app.warm-up.max-retry-backoff:1m}") Duration maxRetryBackoff) {
+        this.energyService = energyService;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.timeout = timeout;
+        this.readyOnFailure = readyOnFailure;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if(!enabled) {
+            state = State.COMPLETED;
+            return;
+        }
+
+        Thread thread = new Thread(this::runUntilReady, "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void runUntilReady() {
+        Duration backoff = retryBackoff;
+        run();
+        while(state == State.FAILED && !readyOnFailure) {
+            logger.info("Retrying warm-up in {} ms", backoff.toMillis());
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            Duration doubled = backoff.multipliedBy(2);
+            backoff = doubled.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : doubled;
+            run();
+        }
+    }
+
+    void run() {
+        startedAtNanos = System.nanoTime();
+        state = State.RUNNING;
+        try {
+            /* The first pass hits the upstream API and fills the cache; later passes are served from it. */
+            for(int i = 0; i < iterations && !isTimedOut(); i++) {
+                energyService.getGenerationMix(CleanFuels.CLEAN);
+                energyService.findOptimalChargingWindow(MIN_HOURS + i % MAX_HOURS, CleanFuels.CLEAN);
+                completedIterations = i + 1;
+            }
+            finishedAtNanos = System.nanoTime();
+            state = State.COMPLETED;
+            logger.info("Warm-up finished after {} iterations in {} ms", completedIterations, elapsed().toMillis());
+        } catch (RuntimeException exception) {
+            finishedAtNanos = System.nanoTime();
+            state = State.FAILED;
+            logger.warn("Warm-up failed after {} iterations: {}", completedIterations, exception.getMessage());
+        }
+    }
+
+    /* Ready once warm-up completes. A failed or overrunning warm-up falls back to ready unless configured
+      otherwise, so an upstream outage cannot keep every instance out of rotation. */
+    public boolean isReady() {
+        return switch(state) {
+            case COMPLETED -> true;
+            case FAILED -> readyOnFailure;
+            case RUNNING -> readyOnFailure && isTimedOut();
+            case PENDING -> false;
+        };
+    }
+
+    public boolean isTimedOut() {
+        return state == State.RUNNING && elapsed().compareTo(timeout) > 0;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    public Duration elapsed() {
+        if(startedAtNanos == 0) {
+            return Duration.ZERO;
+        }
+        long end = state == State.RUNNING ? System.nanoTime() : finishedAtNanos;
+        return Duration.ofNanos(end - startedAtNanos);
+    }
+}
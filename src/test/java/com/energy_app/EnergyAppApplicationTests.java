@@ -3,7 +3,7 @@ package com.energy_app;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "energy.app.warm-up.enabled=false")
 class EnergyAppApplicationTests {
 
 	@Test
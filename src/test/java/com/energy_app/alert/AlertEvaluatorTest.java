@@ -0,0 +1,104 @@
+package com.energy_app.alert;
+
+import com.energy_app.config.CleanFuels;
+import com.energy_app.kernel.WindowKernels;
+import com.energy_app.model.dto.AlertNotificationDto;
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import com.energy_app.service.EnergyService;
+import com.energy_app.service.FuelPrefixSums;
+import com.energy_app.service.ForecastRefreshedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertEvaluatorTest {
+    private static final URI CALLBACK = URI.create("https://203.0.113.10/hook");
+
+    @Mock
+    private AlertDelivery alertDelivery;
+    @Mock
+    private EnergyService energyService;
+
+    private final AlertRegistry alertRegistry = new AlertRegistry(Integer.MAX_VALUE);
+    private AlertEvaluator alertEvaluator;
+
+    @AfterEach
+    void tearDown() {
+        if(alertEvaluator != null) {
+            alertEvaluator.close();
+        }
+    }
+
+    @Test
+    void onForecastRefreshed_evaluatesInBackground_andDeliversNotifications() {
+        // given
+        alertEvaluator = new AlertEvaluator(alertRegistry, alertDelivery, WindowKernels.scalar(), energyService, 2);
+        AlertSubscription subscription = alertRegistry.subscribe(1, 70.0, CleanFuels.CLEAN, CALLBACK);
+
+        // when
+        alertEvaluator.onForecastRefreshed(new ForecastRefreshedEvent(snapshot(50, 80, 90, 40)));
+
+        // then
+        ArgumentCaptor<AlertNotificationDto> body = ArgumentCaptor.forClass(AlertNotificationDto.class);
+        verify(alertDelivery, timeout(5000)).deliver(eq(CALLBACK), body.capture());
+        assertEquals(subscription.id(), body.getValue().subscriptionId());
+        assertTrue(body.getValue().windowAvailable());
+        assertEquals("2025-12-19T00:30Z", body.getValue().windowStart());
+    }
+
+    @Test
+    void onForecastRefreshedAndRefresh_doNothing_withoutSubscriptions() {
+        // given
+        alertEvaluator = new AlertEvaluator(alertRegistry, alertDelivery, WindowKernels.scalar(), energyService, 2);
+
+        // when
+        alertEvaluator.onForecastRefreshed(new ForecastRefreshedEvent(snapshot(50, 80, 90, 40)));
+        alertEvaluator.refresh();
+
+        // then
+        verifyNoInteractions(alertDelivery, energyService);
+    }
+
+    @Test
+    void refresh_rebuildsSnapshot_whileSubscriptionsExist() {
+        // given
+        alertEvaluator = new AlertEvaluator(alertRegistry, alertDelivery, WindowKernels.scalar(), energyService, 2);
+        alertRegistry.subscribe(1, 70.0, CleanFuels.CLEAN, CALLBACK);
+
+        // when
+        alertEvaluator.refresh();
+
+        // then
+        verify(energyService).refreshOptimalChargingData();
+    }
+
+    /* One half-hour slot per value from 2025-12-19T00:00Z, with the value as the wind share and the rest gas. */
+    private static FuelPrefixSums snapshot(double... windShares) {
+        OffsetDateTime start = OffsetDateTime.parse("2025-12-19T00:00Z");
+        List<GenerationData> intervals = new ArrayList<>(windShares.length);
+        for(int i = 0; i < windShares.length; i++) {
+            OffsetDateTime from = start.plusMinutes(30L * i);
+            intervals.add(new GenerationData(from.toString(), from.plusMinutes(30).toString(),
+                    List.of(new Fuel(FuelType.WIND, windShares[i]), new Fuel(FuelType.GAS, 100.0 - windShares[i]))));
+        }
+        return FuelPrefixSums.of(intervals, WindowKernels.scalar());
+    }
+}
@@ -0,0 +1,188 @@
+package com.energy_app.alert;
+
+import com.energy_app.config.CleanFuels;
+import com.energy_app.exception.SubscriptionLimitException;
+import com.energy_app.kernel.WindowKernels;
+import com.energy_app.model.dto.AlertNotificationDto;
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import com.energy_app.service.FuelPrefixSums;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AlertRegistryTest {
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 12, 19, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final URI CALLBACK = URI.create("http://localhost:9999/hook");
+
+    private final AlertRegistry registry = new AlertRegistry(Integer.MAX_VALUE);
+    private final WindowKernels kernels = WindowKernels.scalar();
+
+    @Test
+    void subscribe_rejectsSubscriptionsOverLimit_untilOneIsCancelled() {
+        // given
+        AlertRegistry limited = new AlertRegistry(2);
+        AlertSubscription first = limited.subscribe(1, 70.0, CleanFuels.CLEAN, CALLBACK);
+        limited.subscribe(2, 70.0, CleanFuels.CLEAN, CALLBACK);
+
+        // when & then
+        assertThrows(SubscriptionLimitException.class,
+                () -> limited.subscribe(3, 70.0, CleanFuels.CLEAN, CALLBACK));
+        assertEquals(2, limited.size());
+
+        limited.unsubscribe(first.id());
+        limited.subscribe(3, 70.0, CleanFuels.CLEAN, CALLBACK);
+        assertEquals(2, limited.size());
+    }
+
+    @Test
+    void evaluate_notifiesOnlyOnStateChanges() {
+        // given
+        AlertSubscription subscription = registry.subscribe(1, 70.0, CleanFuels.CLEAN, CALLBACK);
+
+        // when
+        List<AlertRegistry.Notification> first = registry.evaluate(snapshot(START, 50, 60, 75, 80, 40), kernels);
+        List<AlertRegistry.Notification> unchanged = registry.evaluate(snapshot(START, 50, 61, 75, 80, 40), kernels);
+        List<AlertRegistry.Notification> gone = registry.evaluate(snapshot(START, 50, 60, 60, 60, 40), kernels);
+
+        // then
+        assertEquals(1, first.size());
+        AlertNotificationDto body = first.get(0).body();
+        assertEquals(subscription.id(), body.subscriptionId());
+        assertTrue(body.windowAvailable());
+        assertEquals(START.plusMinutes(60).toString(), body.windowStart());
+        assertEquals(START.plusMinutes(120).toString(), body.windowEnd());
+        assertEquals(77.5, body.averagePercentage());
+
+        assertTrue(unchanged.isEmpty());
+
+        assertEquals(1, gone.size());
+        assertFalse(gone.get(0).body().windowAvailable());
+    }
+
+    @Test
+    void evaluate_treatsWindowThatAlreadyStartedAsUnchanged() {
+        // given
+        registry.subscribe(1, 70.0, CleanFuels.CLEAN, CALLBACK);
+        registry.evaluate(snapshot(START, 80, 80, 80, 80, 40), kernels);
+
+        // when
+        List<AlertRegistry.Notification> later = registry.evaluate(snapshot(START.plusMinutes(30), 80, 80, 80, 40),
+                kernels);
+        List<AlertRegistry.Notification> moved = registry.evaluate(snapshot(START.plusMinutes(60), 40, 40, 90, 90),
+                kernels);
+
+        // then
+        assertTrue(later.isEmpty());
+        assertEquals(1, moved.size());
+        assertEquals(START.plusMinutes(120).toString(), moved.get(0).body().windowStart());
+    }
+
+    @Test
+    void evaluate_notifiesWindowAtHorizonStart_afterAnnouncedWindowHasEnded() {
+        // given
+        registry.subscribe(1, 70.0, CleanFuels.CLEAN, CALLBACK);
+        registry.evaluate(snapshot(START, 80, 80, 40, 40, 40), kernels);
+
+        // when
+        List<AlertRegistry.Notification> afterGap = registry.evaluate(snapshot(START.plusMinutes(120), 80, 80, 40),
+                kernels);
+
+        // then
+        assertEquals(1, afterGap.size());
+        assertEquals(START.plusMinutes(120).toString(), afterGap.get(0).body().windowStart());
+    }
+
+    @Test
+    void evaluate_sharesWorkAcrossManySubscriptions_andSkipsUnchangedGroups() {
+        // given
+        int subscriptions = 100_000;
+        for(int i = 0; i < subscriptions; i++) {
+            registry.subscribe(1 + i % 3, 60.0 + i % 4 * 5, CleanFuels.CLEAN, CALLBACK);
+        }
+        registry.subscribe(1, 70.0, EnumSet.of(FuelType.WIND), CALLBACK);
+        FuelPrefixSums snapshot = snapshot(START, 50, 60, 75, 80, 85, 90, 70, 65, 55, 50);
+        CountingKernels counting = new CountingKernels();
+
+        // when
+        List<AlertRegistry.Notification> first = registry.evaluate(snapshot, counting);
+        int firstScans = counting.windowScans;
+        List<AlertRegistry.Notification> second = registry.evaluate(snapshot, counting);
+
+        // then
+        assertEquals(subscriptions + 1, first.size());
+        assertTrue(second.isEmpty());
+        /* Three durations with the default clean fuels plus one with wind only. */
+        assertEquals(4, firstScans);
+        assertEquals(8, counting.windowScans);
+    }
+
+    @Test
+    void unsubscribe_removesSubscriptionFromEvaluation() {
+        // given
+        AlertSubscription subscription = registry.subscribe(1, 70.0, CleanFuels.CLEAN, CALLBACK);
+
+        // when
+        boolean removed = registry.unsubscribe(subscription.id());
+
+        // then
+        assertTrue(removed);
+        assertFalse(registry.unsubscribe(subscription.id()));
+        assertTrue(registry.find(subscription.id()).isEmpty());
+        assertTrue(registry.evaluate(snapshot(START, 80, 80), kernels).isEmpty());
+    }
+
+    /* Scalar kernels that count window scans. */
+    private static class CountingKernels implements WindowKernels {
+        private final WindowKernels delegate = WindowKernels.scalar();
+        private int windowScans;
+
+        @Override
+        public void sumColumns(double[][] columns, int[] selected, int length, double[] out) {
+            delegate.sumColumns(columns, selected, length, out);
+        }
+
+        @Override
+        public void prefixSum(double[] values, int length, double[] out) {
+            delegate.prefixSum(values, length, out);
+        }
+
+        @Override
+        public void windowDifferences(double[] prefix, int window, double scale, int count, double[] out) {
+            windowScans++;
+            delegate.windowDifferences(prefix, window, scale, count, out);
+        }
+
+        @Override
+        public int argMax(double[] values, int length) {
+            return delegate.argMax(values, length);
+        }
+
+        @Override
+        public String name() {
+            return "counting";
+        }
+    }
+
+    /* One half-hour slot per value, with the value as the wind share and the rest gas. */
+    private static FuelPrefixSums snapshot(OffsetDateTime start, double... windShares) {
+        List<GenerationData> intervals = new ArrayList<>(windShares.length);
+        for(int i = 0; i < windShares.length; i++) {
+            OffsetDateTime from = start.plusMinutes(30L * i);
+            intervals.add(new GenerationData(from.toString(), from.plusMinutes(30).toString(),
+                    List.of(new Fuel(FuelType.WIND, windShares[i]), new Fuel(FuelType.GAS, 100.0 - windShares[i]))));
+        }
+        return FuelPrefixSums.of(intervals, WindowKernels.scalar());
+    }
+}
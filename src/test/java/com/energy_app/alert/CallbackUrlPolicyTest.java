@@ -0,0 +1,56 @@
+package com.energy_app.alert;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CallbackUrlPolicyTest {
+    private final CallbackUrlPolicy policy = new CallbackUrlPolicy(false);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "http://127.0.0.1:8080/hook",
+            "http://localhost/hook",
+            "http://169.254.169.254/latest/meta-data",
+            "http://10.1.2.3/hook",
+            "http://172.16.0.1/hook",
+            "http://192.168.1.1/hook",
+            "http://100.64.0.1/hook",
+            "http://0.0.0.0/hook",
+            "http://[::1]/hook",
+            "http://[fe80::1]/hook",
+            "http://[fd00::1]/hook",
+            "ftp://203.0.113.10/hook",
+            "/relative/hook"
+    })
+    void parse_rejectsInternalOrNonHttpCallbacks(String callbackUrl) {
+        // when & then
+        assertThatThrownBy(() -> policy.parse(callbackUrl)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parse_acceptsPublicAddress() {
+        // when
+        URI uri = policy.parse("https://203.0.113.10/hook");
+
+        // then
+        assertEquals("203.0.113.10", uri.getHost());
+    }
+
+    @Test
+    void parse_acceptsLoopback_whenPrivateAddressesAreAllowed() {
+        // given
+        CallbackUrlPolicy permissive = new CallbackUrlPolicy(true);
+
+        // when
+        URI uri = permissive.parse("http://127.0.0.1:8080/hook");
+
+        // then
+        assertEquals(8080, uri.getPort());
+    }
+}
@@ -0,0 +1,60 @@
+package com.energy_app.alert;
+
+import com.energy_app.model.dto.AlertNotificationDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WebhookAlertDeliveryTest {
+    private final WebhookAlertDelivery delivery = new WebhookAlertDelivery(RestClient.builder(), Duration.ofSeconds(2),
+            new CallbackUrlPolicy(true));
+
+    @Test
+    void deliver_postsNotificationAsJson() throws Exception {
+        // given
+        AlertNotificationDto notification = new AlertNotificationDto("sub-1", 3, 70.0, true,
+                "2025-12-19T10:00Z", "2025-12-19T13:00Z", 74.5);
+
+        try(LocalWebhookReceiver receiver = new LocalWebhookReceiver()) {
+            // when
+            delivery.deliver(receiver.url(), notification);
+
+            // then
+            assertEquals(1, receiver.bodies().size());
+            String body = receiver.bodies().get(0);
+            assertTrue(body.contains("\"subscriptionId\":\"sub-1\""), body);
+            assertTrue(body.contains("\"windowStart\":\"2025-12-19T10:00Z\""), body);
+            assertTrue(body.contains("\"averagePercentage\":74.5"), body);
+        }
+    }
+
+    @Test
+    void deliver_skipsInternalCallback_unlessPrivateAddressesAreAllowed() throws Exception {
+        // given
+        WebhookAlertDelivery restricted = new WebhookAlertDelivery(RestClient.builder(), Duration.ofSeconds(2),
+                new CallbackUrlPolicy(false));
+        AlertNotificationDto notification = new AlertNotificationDto("sub-1", 3, 70.0, false, null, null, null);
+
+        try(LocalWebhookReceiver receiver = new LocalWebhookReceiver()) {
+            // when
+            restricted.deliver(receiver.url(), notification);
+
+            // then
+            assertEquals(0, receiver.bodies().size());
+        }
+    }
+
+    @Test
+    void deliver_swallowsUnreachableCallback() {
+        // given
+        AlertNotificationDto notification = new AlertNotificationDto("sub-1", 3, 70.0, false, null, null, null);
+
+        // when & then
+        delivery.deliver(URI.create("http://127.0.0.1:1/hook"), notification);
+    }
+}
@@ -0,0 +1,143 @@
+package com.energy_app.cache;
+
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.CarbonIntensityResponse;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import io.lettuce.core.RedisClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/* RedisSharedCache against a real Redis; skipped when Docker is not available. */
+@Testcontainers(disabledWithoutDocker = true)
+public class RedisSharedCacheContainerTest {
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private RedisSharedCache cacheA;
+    private RedisSharedCache cacheB;
+
+    @BeforeEach
+    void setUp() {
+        cacheA = newCache();
+        cacheB = newCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheA.close();
+        cacheB.close();
+    }
+
+    @Test
+    void putAndGet_roundTripBytes_untilTtlExpires() throws Exception {
+        // given
+        byte[] value = "value".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        cacheA.put("ttl-key", value, Duration.ofMillis(300));
+
+        // then
+        assertArrayEquals(value, cacheB.get("ttl-key"));
+        Thread.sleep(600);
+        assertNull(cacheB.get("ttl-key"));
+    }
+
+    @Test
+    void tryLock_isExclusive_andUnlockOnlyReleasesOwnToken() {
+        // when
+        boolean first = cacheA.tryLock("lock-key", "token-a", Duration.ofSeconds(10));
+        boolean second = cacheB.tryLock("lock-key", "token-b", Duration.ofSeconds(10));
+        cacheB.unlock("lock-key", "token-b");
+        boolean afterForeignUnlock = cacheB.tryLock("lock-key", "token-b", Duration.ofSeconds(10));
+        cacheA.unlock("lock-key", "token-a");
+        boolean afterOwnerUnlock = cacheB.tryLock("lock-key", "token-b", Duration.ofSeconds(10));
+
+        // then
+        assertTrue(first);
+        assertFalse(second);
+        assertFalse(afterForeignUnlock);
+        assertTrue(afterOwnerUnlock);
+    }
+
+    @Test
+    void tryLock_expiresAfterTtl() throws Exception {
+        // given
+        assertTrue(cacheA.tryLock("expiring-lock", "token-a", Duration.ofMillis(200)));
+
+        // when
+        Thread.sleep(500);
+
+        // then
+        assertTrue(cacheB.tryLock("expiring-lock", "token-b", Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void publish_reachesSubscribersOnOtherConnections() throws Exception {
+        // given
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        cacheB.subscribe("channel", received::add);
+
+        // when
+        cacheA.publish("channel", "hello");
+
+        // then
+        assertEquals("hello", received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void twoTierCache_invalidatesOtherReplicasNearCache() throws Exception {
+        // given
+        TwoTierCache replicaA = replica(cacheA);
+        TwoTierCache replicaB = replica(cacheB);
+        replicaA.put("range", response(60.0));
+        assertEquals(response(60.0), replicaB.get("range", CarbonIntensityResponse.class));
+
+        // when
+        replicaA.put("range", response(20.0));
+
+        // then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(!response(20.0).equals(replicaB.get("range", CarbonIntensityResponse.class))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(response(20.0), replicaB.get("range", CarbonIntensityResponse.class));
+    }
+
+    private static RedisSharedCache newCache() {
+        return new RedisSharedCache(RedisClient.create("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379)),
+                Duration.ofSeconds(2));
+    }
+
+    private static TwoTierCache replica(SharedCache sharedCache) {
+        TwoTierCache cache = new TwoTierCache("generationMix", sharedCache, new SlotDataCodec(),
+                Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofSeconds(5));
+        cache.subscribeToInvalidations();
+        return cache;
+    }
+
+    private static CarbonIntensityResponse response(double wind) {
+        return new CarbonIntensityResponse(List.of(
+                new GenerationData("2025-12-19T00:00Z", "2025-12-19T00:30Z",
+                        List.of(new Fuel(FuelType.WIND, wind), new Fuel(FuelType.GAS, 100.0 - wind)))
+        ));
+    }
+}
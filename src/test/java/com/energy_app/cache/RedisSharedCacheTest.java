@@ -0,0 +1,68 @@
+package com.energy_app.cache;
+
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.CarbonIntensityResponse;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import io.lettuce.core.RedisClient;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/* Behaviour without a reachable server; RedisSharedCacheContainerTest covers the commands against a real one. */
+public class RedisSharedCacheTest {
+    private static final String UNREACHABLE = "redis://127.0.0.1:1";
+
+    @Test
+    void constructionAndSubscribe_doNotRequireReachableServer() {
+        // when
+        try(RedisSharedCache cache = new RedisSharedCache(RedisClient.create(UNREACHABLE), Duration.ofSeconds(1))) {
+            cache.subscribe("channel", message -> {});
+
+            // then
+            assertThatThrownBy(() -> cache.get("key")).isInstanceOf(RuntimeException.class);
+        }
+    }
+
+    @Test
+    void operations_failFastWhileBackingOff() {
+        // given
+        try(RedisSharedCache cache = new RedisSharedCache(RedisClient.create(UNREACHABLE), Duration.ofSeconds(1))) {
+            assertThatThrownBy(() -> cache.get("key")).isInstanceOf(RuntimeException.class);
+
+            // when
+            long started = System.nanoTime();
+            assertThatThrownBy(() -> cache.tryLock("lock", "token", Duration.ofSeconds(1)))
+                    .isInstanceOf(RuntimeException.class);
+
+            // then
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(100));
+        }
+    }
+
+    @Test
+    void twoTierCache_fallsBackToLoader_whenServerIsUnreachable() {
+        // given
+        try(RedisSharedCache sharedCache = new RedisSharedCache(RedisClient.create(UNREACHABLE),
+                Duration.ofSeconds(1))) {
+            TwoTierCache cache = new TwoTierCache("generationMix", sharedCache, new SlotDataCodec(),
+                    Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofMillis(200));
+            cache.subscribeToInvalidations();
+            CarbonIntensityResponse response = new CarbonIntensityResponse(List.of(
+                    new GenerationData("2025-12-19T00:00Z", "2025-12-19T00:30Z",
+                            List.of(new Fuel(FuelType.WIND, 60.0)))));
+
+            // when
+            CarbonIntensityResponse loaded = cache.get("range", () -> response);
+
+            // then
+            assertEquals(response, loaded);
+            assertEquals(response, cache.get("range", CarbonIntensityResponse.class));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.energy_app.cache;
+
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.CarbonIntensityResponse;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TwoTierCacheTest {
+    private InMemorySharedCache sharedCache;
+    private TwoTierCache replicaA;
+    private TwoTierCache replicaB;
+
+    @BeforeEach
+    void setUp() {
+        sharedCache = new InMemorySharedCache();
+        replicaA = replica();
+        replicaB = replica();
+    }
+
+    @Test
+    void get_loadsOnceAcrossReplicas() {
+        // given
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        // when
+        CarbonIntensityResponse first = replicaA.get("range", () -> {
+            upstreamCalls.incrementAndGet();
+            return response(60.0);
+        });
+        CarbonIntensityResponse second = replicaB.get("range", () -> {
+            upstreamCalls.incrementAndGet();
+            return response(10.0);
+        });
+
+        // then
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(first, second);
+        assertSame(second, replicaB.get("range", CarbonIntensityResponse.class));
+    }
+
+    @Test
+    void put_invalidatesOtherReplicasNearCache() {
+        // given
+        replicaA.put("range", response(60.0));
+        assertEquals(response(60.0), replicaB.get("range", CarbonIntensityResponse.class));
+
+        // when
+        replicaA.put("range", response(75.5));
+
+        // then
+        assertEquals(response(75.5), replicaB.get("range", CarbonIntensityResponse.class));
+    }
+
+    @Test
+    void isCachedLocally_ignoresValuesOnlyInSharedTier() {
+        // given
+        replicaA.put("range", response(60.0));
+
+        // when
+        boolean beforeRead = replicaB.isCachedLocally("range");
+        replicaB.get("range", CarbonIntensityResponse.class);
+        boolean afterRead = replicaB.isCachedLocally("range");
+
+        // then
+        assertTrue(replicaA.isCachedLocally("range"));
+        assertFalse(beforeRead);
+        assertTrue(afterRead);
+    }
+
+    @Test
+    void get_waitsForLockHolderInsteadOfCallingUpstream() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<CarbonIntensityResponse> owner = executor.submit(() -> replicaA.get("range", () -> {
+            upstreamCalls.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return response(60.0);
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+        Future<CarbonIntensityResponse> waiter = executor.submit(() -> replicaB.get("range", () -> {
+            upstreamCalls.incrementAndGet();
+            return response(10.0);
+        }));
+        Thread.sleep(200);
+        release.countDown();
+
+        // then
+        assertEquals(response(60.0), owner.get(5, TimeUnit.SECONDS));
+        assertEquals(response(60.0), waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, upstreamCalls.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void slotDataCodec_roundTripsAndIsSmallerThanJson() {
+        // given
+        SlotDataCodec codec = new SlotDataCodec();
+        CarbonIntensityResponse original = new CarbonIntensityResponse(List.of(
+                new GenerationData("2025-12-19T00:00Z", "2025-12-19T00:30Z", List.of(
+                        new Fuel(FuelType.WIND, 31.5),
+                        new Fuel(FuelType.GAS, 12.34),
+                        new Fuel(FuelType.SOLAR, 0.0),
+                        new Fuel(FuelType.NUCLEAR, 1.0 / 3.0),
+                        new Fuel(FuelType.OTHER, null)
+                ))
+        ));
+
+        // when
+        byte[] encoded = codec.encode(original);
+
+        // then
+        assertEquals(original, codec.decode(encoded));
+        assertThat(encoded.length).isLessThan(70);
+    }
+
+    private TwoTierCache replica() {
+        TwoTierCache cache = new TwoTierCache("generationMix", sharedCache, new SlotDataCodec(),
+                Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofSeconds(5));
+        cache.subscribeToInvalidations();
+        return cache;
+    }
+
+    private static CarbonIntensityResponse response(double wind) {
+        return new CarbonIntensityResponse(List.of(
+                new GenerationData("2025-12-19T00:00Z", "2025-12-19T00:30Z",
+                        List.of(new Fuel(FuelType.WIND, wind), new Fuel(FuelType.GAS, 100.0 - wind)))
+        ));
+    }
+}
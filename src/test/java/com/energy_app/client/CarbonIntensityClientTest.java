@@ -2,6 +2,7 @@ package com.energy_app.client;
 
 import com.energy_app.exception.ExternalApiException;
 import com.energy_app.model.external.CarbonIntensityResponse;
+import com.energy_app.model.external.GenerationData;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.restclient.test.autoconfigure.RestClientTest;
@@ -14,6 +15,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestClient;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
@@ -70,6 +74,27 @@ class CarbonIntensityClientTest {
         assertThat(response.data()).hasSize(1);
     }
 
+    @Test
+    void isCached_returnsTrue_afterSuccessfulFetch() {
+        // given
+        String jsonResponse = """
+            {
+              "data": []
+            }
+            """;
+
+        server.expect(requestTo(org.hamcrest.Matchers.containsString("/generation")))
+                .andRespond(withSuccess(jsonResponse, MediaType.APPLICATION_JSON));
+        boolean cachedBefore = client.isCached("2023-02-01T00:00Z", "2023-02-01T23:00Z");
+
+        // when
+        client.fetchGenerationMix("2023-02-01T00:00Z", "2023-02-01T23:00Z");
+
+        // then
+        assertThat(cachedBefore).isFalse();
+        assertThat(client.isCached("2023-02-01T00:00Z", "2023-02-01T23:00Z")).isTrue();
+    }
+
     @Test
     void shouldThrowExternalApiException_whenApiReturns500() {
         // given
@@ -80,4 +105,43 @@ class CarbonIntensityClientTest {
         assertThatThrownBy(() -> client.fetchGenerationMix("start", "end"))
                 .isInstanceOf(ExternalApiException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamGenerationMix_passesEachInterval_andSkipsOtherFields() {
+        // given
+        String jsonResponse = """
+            {
+              "meta": {"source": "stub", "tags": [1, 2]},
+              "data": [
+                {"from": "2023-03-01T00:00Z", "to": "2023-03-01T00:30Z",
+                 "generationmix": [{"fuel": "wind", "perc": 60.0}], "extra": {"ignored": true}},
+                {"from": "2023-03-01T00:30Z", "to": "2023-03-01T01:00Z", "generationmix": []}
+              ]
+            }
+            """;
+
+        server.expect(requestTo(org.hamcrest.Matchers.containsString("/generation")))
+                .andRespond(withSuccess(jsonResponse, MediaType.APPLICATION_JSON));
+        List<GenerationData> intervals = new ArrayList<>();
+
+        // when
+        client.streamGenerationMix("2023-03-01T00:00Z", "2023-03-01T01:00Z", intervals::add);
+
+        // then
+        assertThat(intervals).extracting(GenerationData::from)
+                .containsExactly("2023-03-01T00:00Z", "2023-03-01T00:30Z");
+        assertThat(intervals.get(0).generationMix()).hasSize(1);
+        assertThat(client.isCached("2023-03-01T00:00Z", "2023-03-01T01:00Z")).isFalse();
+    }
+
+    @Test
+    void streamGenerationMix_throwsExternalApiException_whenApiReturns500() {
+        // given
+        server.expect(requestTo(org.hamcrest.Matchers.containsString("/generation")))
+                .andRespond(withServerError());
+
+        // when & then
+        assertThatThrownBy(() -> client.streamGenerationMix("start", "end", interval -> {}))
+                .isInstanceOf(ExternalApiException.class);
+    }
+}
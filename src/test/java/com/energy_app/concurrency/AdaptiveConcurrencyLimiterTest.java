@@ -0,0 +1,64 @@
+package com.energy_app.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_rejectsRequestsAboveLimit() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.2, 1.0);
+
+        // when
+        int first = limiter.tryAcquire(true);
+        int second = limiter.tryAcquire(true);
+        int third = limiter.tryAcquire(true);
+
+        // then
+        assertEquals(0, first);
+        assertEquals(1, second);
+        assertEquals(-1, third);
+        assertEquals(2, limiter.getInflight());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void tryAcquire_reservesCapacityForCachedRequests() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 0.2, 0.5);
+
+        // when
+        limiter.tryAcquire(false);
+        limiter.tryAcquire(false);
+        int thirdMiss = limiter.tryAcquire(false);
+        int cached = limiter.tryAcquire(true);
+
+        // then
+        assertEquals(-1, thirdMiss);
+        assertEquals(2, cached);
+    }
+
+    @Test
+    void release_shrinksLimitWhenLatencyRises() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 0.2, 1.0);
+        for(int i = 0; i < 50; i++) {
+            int inflight = limiter.tryAcquire(true);
+            limiter.release(1_000_000L, Math.max(inflight, 15));
+        }
+        int limitBefore = limiter.getLimit();
+
+        // when
+        for(int i = 0; i < 50; i++) {
+            int inflight = limiter.tryAcquire(true);
+            limiter.release(20_000_000L, Math.max(inflight, limiter.getLimit()));
+        }
+
+        // then
+        assertThat(limiter.getLimit()).isLessThan(limitBefore);
+        assertEquals(0, limiter.getInflight());
+    }
+}
@@ -0,0 +1,134 @@
+package com.energy_app.concurrency;
+
+import com.energy_app.controller.EnergyController;
+import com.energy_app.service.EnergyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/* A limit of 2 with half of it available to cache misses: one slow upstream fetch saturates the miss share
+  while leaving room for one request that can be answered from cache. */
+@WebMvcTest(controllers = EnergyController.class, properties = {
+        "energy.app.concurrency.initial-limit=2",
+        "energy.app.concurrency.min-limit=2",
+        "energy.app.concurrency.max-limit=2",
+        "energy.app.concurrency.cache-miss-share=0.5",
+        "energy.app.concurrency.retry-after-seconds=3"
+})
+public class ConcurrencyLimitInterceptorTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EnergyService energyService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch fetching = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @TestConfiguration
+    static class TestCacheConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("generationMix");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void cacheMiss_isShedWith503AndRetryAfter_whileMissShareIsSaturated() throws Exception {
+        // given
+        when(energyService.isGenerationMixCached()).thenReturn(false);
+        Future<ResultActions> slow = saturateWithSlowFetch();
+
+        // when
+        ResultActions result = mockMvc.perform(get("/api/v1/energy/mix"));
+
+        // then
+        result.andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS).andExpect(status().isOk());
+    }
+
+    @Test
+    void cacheHit_isAdmitted_whileCacheMissesAreShed() throws Exception {
+        // given
+        when(energyService.isGenerationMixCached()).thenReturn(false, false, true);
+        Future<ResultActions> slow = saturateWithSlowFetch();
+
+        // when
+        ResultActions miss = mockMvc.perform(get("/api/v1/energy/mix"));
+        ResultActions hit = mockMvc.perform(get("/api/v1/energy/mix"));
+
+        // then
+        miss.andExpect(status().isServiceUnavailable());
+        hit.andExpect(status().isOk());
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS).andExpect(status().isOk());
+    }
+
+    @Test
+    void revisions_areAdmitted_whileCacheMissesAreShed() throws Exception {
+        // given
+        when(energyService.isGenerationMixCached()).thenReturn(false);
+        Future<ResultActions> slow = saturateWithSlowFetch();
+
+        // when
+        ResultActions miss = mockMvc.perform(get("/api/v1/energy/mix"));
+        ResultActions revisions = mockMvc.perform(get("/api/v1/energy/revisions")
+                .param("slot", "2025-12-19T00:00:00Z"));
+
+        // then
+        miss.andExpect(status().isServiceUnavailable());
+        revisions.andExpect(status().isOk());
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS).andExpect(status().isOk());
+    }
+
+    /* Holds the only cache-miss slot: the first fetch blocks until the test releases it, later ones return. */
+    private Future<ResultActions> saturateWithSlowFetch() throws InterruptedException {
+        when(energyService.getGenerationMix(any())).thenAnswer(invocation -> {
+            if(fetching.getCount() > 0) {
+                fetching.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return List.of();
+        });
+
+        Future<ResultActions> slow = executor.submit(() -> mockMvc.perform(get("/api/v1/energy/mix")));
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        return slow;
+    }
+}
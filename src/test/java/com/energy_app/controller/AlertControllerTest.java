@@ -0,0 +1,197 @@
+package com.energy_app.controller;
+
+import com.energy_app.alert.AlertRegistry;
+import com.energy_app.alert.CallbackUrlPolicy;
+import com.energy_app.config.CleanFuels;
+import com.energy_app.service.EnergyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AlertController.class, properties = "energy.app.alerts.max-subscriptions=20")
+@Import({AlertRegistry.class, CallbackUrlPolicy.class})
+public class AlertControllerTest {
+    private static final String PUBLIC_CALLBACK = "https://203.0.113.10/hook";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlertRegistry alertRegistry;
+
+    @MockitoBean
+    private EnergyService energyService;
+
+    @TestConfiguration
+    static class TestCacheConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("generationMix");
+        }
+    }
+
+    @Test
+    void subscribe_returns201WithLocation() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(post("/api/v1/alerts/subscriptions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request(3, 70.0, PUBLIC_CALLBACK)));
+
+        // then
+        String id = result.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.durationHours").value(3))
+                .andExpect(jsonPath("$.thresholdPercent").value(70.0))
+                .andExpect(jsonPath("$.callbackUrl").value(PUBLIC_CALLBACK))
+                .andReturn().getResponse().getHeader("Location");
+        assertTrue(id.startsWith("/api/v1/alerts/subscriptions/"), id);
+        mockMvc.perform(get(id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.durationHours").value(3));
+    }
+
+    @Test
+    void subscribe_returns400_forInvalidDurationThresholdOrCallback() throws Exception {
+        // given
+        String[] invalidRequests = {
+                request(7, 70.0, PUBLIC_CALLBACK),
+                request(0, 70.0, PUBLIC_CALLBACK),
+                request(3, 100.5, PUBLIC_CALLBACK),
+                request(3, 70.0, "ftp://203.0.113.10/hook"),
+                request(3, 70.0, "not a url"),
+                request(3, 70.0, "http://169.254.169.254/latest/meta-data")
+        };
+        int before = alertRegistry.size();
+
+        for(String invalidRequest : invalidRequests) {
+            // when
+            ResultActions result = mockMvc.perform(post("/api/v1/alerts/subscriptions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(invalidRequest));
+
+            // then
+            result.andExpect(status().isBadRequest());
+        }
+        assertEquals(before, alertRegistry.size());
+    }
+
+    @Test
+    void subscribe_returns400_forMalformedJsonOrUnknownFuel() throws Exception {
+        // given
+        String[] unreadableRequests = {
+                "{\"durationHours\": 3, \"thresholdPercent\": ",
+                request(3, 70.0, PUBLIC_CALLBACK, "[\"banana\"]"),
+                request(3, 70.0, PUBLIC_CALLBACK, "\"wind\"")
+        };
+        int before = alertRegistry.size();
+
+        for(String unreadableRequest : unreadableRequests) {
+            // when
+            ResultActions result = mockMvc.perform(post("/api/v1/alerts/subscriptions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(unreadableRequest));
+
+            // then
+            result.andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.statusCode").value(400));
+        }
+        assertEquals(before, alertRegistry.size());
+    }
+
+    @Test
+    void subscribe_acceptsFuelNamesInAnyCase() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(post("/api/v1/alerts/subscriptions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request(3, 70.0, PUBLIC_CALLBACK, "[\"WIND\", \"Solar\", \"hydro\"]")));
+
+        // then
+        result.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.cleanFuels.length()").value(3))
+                .andExpect(jsonPath("$.cleanFuels[?(@ == 'wind')]").exists())
+                .andExpect(jsonPath("$.cleanFuels[?(@ == 'solar')]").exists())
+                .andExpect(jsonPath("$.cleanFuels[?(@ == 'hydro')]").exists());
+    }
+
+    @Test
+    void subscribe_returns429_whenSubscriptionLimitIsReached() throws Exception {
+        // given
+        List<String> filler = new ArrayList<>();
+        while(alertRegistry.size() < 20) {
+            filler.add(alertRegistry.subscribe(1, 50.0, CleanFuels.CLEAN, URI.create(PUBLIC_CALLBACK)).id());
+        }
+
+        try {
+            // when
+            ResultActions result = mockMvc.perform(post("/api/v1/alerts/subscriptions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(request(3, 70.0, PUBLIC_CALLBACK)));
+
+            // then
+            result.andExpect(status().isTooManyRequests())
+                    .andExpect(jsonPath("$.statusCode").value(429));
+            assertEquals(20, alertRegistry.size());
+        } finally {
+            filler.forEach(alertRegistry::unsubscribe);
+        }
+    }
+
+    @Test
+    void getAndDelete_return404_forUnknownId() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/v1/alerts/subscriptions/unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/alerts/subscriptions/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void delete_returns204_andRemovesSubscription() throws Exception {
+        // given
+        String location = mockMvc.perform(post("/api/v1/alerts/subscriptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request(2, 60.0, PUBLIC_CALLBACK)))
+                .andReturn().getResponse().getHeader("Location");
+
+        // when
+        ResultActions result = mockMvc.perform(delete(location));
+
+        // then
+        result.andExpect(status().isNoContent());
+        mockMvc.perform(get(location))
+                .andExpect(status().isNotFound());
+    }
+
+    private static String request(int durationHours, double thresholdPercent, String callbackUrl) {
+        return """
+                {"durationHours": %d, "thresholdPercent": %s, "callbackUrl": "%s"}
+                """.formatted(durationHours, thresholdPercent, callbackUrl);
+    }
+
+    private static String request(int durationHours, double thresholdPercent, String callbackUrl, String cleanFuels) {
+        return """
+                {"durationHours": %d, "thresholdPercent": %s, "callbackUrl": "%s", "cleanFuels": %s}
+                """.formatted(durationHours, thresholdPercent, callbackUrl, cleanFuels);
+    }
+}
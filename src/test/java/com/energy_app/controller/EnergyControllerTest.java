@@ -1,8 +1,12 @@
 package com.energy_app.controller;
 
+import com.energy_app.config.BinaryEncoding;
+import com.energy_app.config.CleanFuels;
 import com.energy_app.model.dto.DailyMixDto;
 import com.energy_app.model.dto.FuelDto;
 import com.energy_app.model.dto.OptimalWindowDto;
+import com.energy_app.model.dto.RevisionDto;
+import com.energy_app.model.dto.SlotRevisionsDto;
 import com.energy_app.model.enumeration.FuelType;
 import com.energy_app.service.EnergyService;
 import org.junit.jupiter.api.Test;
@@ -16,9 +20,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import tools.jackson.databind.JsonNode;
 
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,7 +50,7 @@ public class EnergyControllerTest {
     @Test
     void getMix_returns200AndList() throws Exception {
         // given
-        when(energyService.getGenerationMix()).thenReturn(List.of(
+        when(energyService.getGenerationMix(CleanFuels.CLEAN)).thenReturn(List.of(
                 new DailyMixDto("2025-12-19",
                         List.of(new FuelDto(FuelType.WIND, 70.0)),
                         70.0)
@@ -58,10 +66,32 @@ public class EnergyControllerTest {
                 .andExpect(jsonPath("$[0].cleanEnergyPercentage").value(70.0));
     }
 
+    @Test
+    void getMix_returnsCborWithFuelTypeOrdinals_whenRequested() throws Exception {
+        // given
+        when(energyService.getGenerationMix(CleanFuels.CLEAN)).thenReturn(List.of(
+                new DailyMixDto("2025-12-19",
+                        List.of(new FuelDto(FuelType.WIND, 70.0)),
+                        70.0)
+        ));
+
+        // when
+        ResultActions result = mockMvc.perform(get("/api/v1/energy/mix")
+                .accept(MediaType.APPLICATION_CBOR));
+
+        // then
+        byte[] body = result.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode tree = BinaryEncoding.cborMapper().readTree(body);
+        assertEquals("2025-12-19", tree.get(0).get("date").asString());
+        assertEquals(FuelType.WIND.ordinal(), tree.get(0).get("metrics").get(0).get("fuelType").asInt());
+    }
+
     @Test
     void getOptimalCharging_returns200AndBody() throws Exception {
         // given
-        when(energyService.findOptimalChargingWindow(2))
+        when(energyService.findOptimalChargingWindow(2, CleanFuels.CLEAN))
                 .thenReturn(new OptimalWindowDto(
                         "2025-12-19T02:00+01:00",
                         "2025-12-19T04:00+01:00",
@@ -81,6 +111,39 @@ public class EnergyControllerTest {
                 .andExpect(jsonPath("$.percentage").value(55.5));
     }
 
+    @Test
+    void getOptimalCharging_passesRequestedCleanFuels() throws Exception {
+        // given
+        when(energyService.findOptimalChargingWindow(2, EnumSet.of(FuelType.WIND, FuelType.SOLAR)))
+                .thenReturn(new OptimalWindowDto(
+                        "2025-12-19T02:00+01:00",
+                        "2025-12-19T04:00+01:00",
+                        42.0
+                ));
+
+        // when
+        ResultActions result = mockMvc.perform(get("/api/v1/energy/optimal-charging")
+                .param("numberOfHours", "2")
+                .param("cleanFuels", "wind", "SOLAR"));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.percentage").value(42.0));
+    }
+
+    @Test
+    void getMix_returns400WhenCleanFuelIsUnknown() throws Exception {
+        // given
+        String unknownFuel = "coal,plutonium";
+
+        // when
+        ResultActions result = mockMvc.perform(get("/api/v1/energy/mix")
+                .param("cleanFuels", unknownFuel));
+
+        // then
+        result.andExpect(status().isBadRequest());
+    }
+
     @Test
     void getOptimalCharging_returns400WhenNumberOfHoursIsNegative() throws Exception {
         // given
@@ -170,4 +233,24 @@ public class EnergyControllerTest {
         // then
         result.andExpect(status().isBadRequest());
     }
+
+    @Test
+    void getRevisions_passesSlotAndAtToService() throws Exception {
+        // given
+        OffsetDateTime slot = OffsetDateTime.parse("2025-12-19T10:30Z");
+        OffsetDateTime at = OffsetDateTime.parse("2025-12-18T20:00Z");
+        when(energyService.getSlotRevisions(slot, at)).thenReturn(new SlotRevisionsDto("2025-12-19T10:30Z",
+                List.of(new RevisionDto("2025-12-18T19:30:00Z", List.of(new FuelDto(FuelType.WIND, 61.5))))));
+
+        // when
+        ResultActions result = mockMvc.perform(get("/api/v1/energy/revisions")
+                .param("slot", "2025-12-19T10:30Z")
+                .param("at", "2025-12-18T20:00Z"));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.slotStart").value("2025-12-19T10:30Z"))
+                .andExpect(jsonPath("$.revisions[0].observedAt").value("2025-12-18T19:30:00Z"))
+                .andExpect(jsonPath("$.revisions[0].generationMix[0].percentage").value(61.5));
+    }
 }
@@ -0,0 +1,186 @@
+package com.energy_app.controller;
+
+import com.energy_app.client.CarbonIntensityClient;
+import com.energy_app.export.ExportFormat;
+import com.energy_app.export.SlotExporter;
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import com.energy_app.service.EnergyService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ExportController.class, properties = "energy.app.export.max-concurrent=1")
+@Import(SlotExporter.class)
+public class ExportControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExportController exportController;
+
+    @Autowired
+    private SlotExporter slotExporter;
+
+    @MockitoBean
+    private CarbonIntensityClient carbonIntensityClient;
+
+    @MockitoBean
+    private EnergyService energyService;
+
+    @TestConfiguration
+    static class TestCacheConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("generationMix");
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_streamsGzippedCsv_whenClientAcceptsGzip() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            Consumer<GenerationData> consumer = invocation.getArgument(2, Consumer.class);
+            consumer.accept(new GenerationData("2025-03-01T00:00Z", "2025-03-01T00:30Z",
+                    List.of(new Fuel(FuelType.WIND, 100.0))));
+            return null;
+        }).when(carbonIntensityClient).streamGenerationMix(anyString(), anyString(), any());
+
+        // when
+        MvcResult started = mockMvc.perform(get("/api/v1/energy/export")
+                        .param("from", "2025-03-01T00:00Z")
+                        .param("to", "2025-03-01T00:30Z")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andReturn();
+
+        // then
+        assertThat(gunzip(result.getResponse().getContentAsByteArray()))
+                .isEqualTo("from,to,gas,coal,biomass,nuclear,hydro,wind,solar,imports,other\n"
+                        + "2025-03-01T00:00Z,2025-03-01T00:30Z,,,,,,100.0,,,\n");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_streamsPlainCsv_whenClientRefusesGzip() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            Consumer<GenerationData> consumer = invocation.getArgument(2, Consumer.class);
+            consumer.accept(new GenerationData("2025-03-01T00:00Z", "2025-03-01T00:30Z",
+                    List.of(new Fuel(FuelType.WIND, 100.0))));
+            return null;
+        }).when(carbonIntensityClient).streamGenerationMix(anyString(), anyString(), any());
+
+        // when
+        MvcResult started = mockMvc.perform(get("/api/v1/energy/export")
+                        .param("from", "2025-03-01T00:00Z")
+                        .param("to", "2025-03-01T00:30Z")
+                        .header("Accept-Encoding", "gzip;q=0, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getContentAsString())
+                .isEqualTo("from,to,gas,coal,biomass,nuclear,hydro,wind,solar,imports,other\n"
+                        + "2025-03-01T00:00Z,2025-03-01T00:30Z,,,,,,100.0,,,\n");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "gzip|true",
+            "GZIP;Q=0.5|true",
+            "deflate, gzip;q=0.001|true",
+            "*|true",
+            "gzip;q=0|false",
+            "gzip; q=0.0, deflate|false",
+            "gzip;q=0, *|false",
+            "*;q=0|false",
+            "deflate, br|false",
+            "gzip;q=abc|false"
+    })
+    void acceptsGzip_honoursQualityValues(String acceptEncoding, boolean expected) {
+        // when & then
+        assertThat(ExportController.acceptsGzip(acceptEncoding)).isEqualTo(expected);
+    }
+
+    @Test
+    void export_returns400_whenFormatIsUnknown() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/v1/energy/export")
+                        .param("from", "2025-03-01T00:00Z")
+                        .param("to", "2025-03-02T00:00Z")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void export_releasesReservation_whenGzipHeaderCannotBeWritten() throws Exception {
+        // given
+        OffsetDateTime from = OffsetDateTime.parse("2025-03-01T00:00Z");
+        StreamingResponseBody body = exportController.export(from, from.plusHours(1), "csv", true, null,
+                new MockHttpServletRequest()).getBody();
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // when
+        assertThatThrownBy(() -> body.writeTo(disconnected)).isInstanceOf(IOException.class);
+
+        // then
+        slotExporter.prepare(from, from.plusHours(1), ExportFormat.CSV).close();
+        verifyNoInteractions(carbonIntensityClient);
+    }
+
+    private static String gunzip(final byte[] bytes) throws IOException {
+        try(GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
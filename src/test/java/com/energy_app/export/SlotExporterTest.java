@@ -0,0 +1,150 @@
+package com.energy_app.export;
+
+import com.energy_app.client.CarbonIntensityClient;
+import com.energy_app.exception.ExternalApiException;
+import com.energy_app.exception.ServiceOverloadedException;
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class SlotExporterTest {
+    @Mock
+    private CarbonIntensityClient carbonIntensityClient;
+
+    private SlotExporter slotExporter;
+
+    @BeforeEach
+    void setUp() {
+        slotExporter = new SlotExporter(carbonIntensityClient, Duration.ofDays(1), Duration.ofDays(31), 2, 1);
+    }
+
+    @Test
+    void export_writesEverySlotOnce_acrossPages() throws IOException {
+        // given
+        stubUpstream();
+        OffsetDateTime from = OffsetDateTime.parse("2025-03-01T00:00Z");
+
+        // when
+        String csv = write(slotExporter.prepare(from, from.plusDays(3), ExportFormat.CSV));
+
+        // then
+        List<String> lines = csv.lines().toList();
+        assertEquals("from,to,gas,coal,biomass,nuclear,hydro,wind,solar,imports,other", lines.get(0));
+        assertEquals(1 + 3 * 48, lines.size());
+        assertEquals("2025-03-01T00:00Z,2025-03-01T00:30Z,40.0,,,,,60.0,,,", lines.get(1));
+        assertThat(lines.get(lines.size() - 1)).startsWith("2025-03-03T23:30Z,2025-03-04T00:00Z,");
+        assertThat(lines.stream().skip(1).distinct()).hasSize(3 * 48);
+        verify(carbonIntensityClient, times(3)).streamGenerationMix(anyString(), anyString(), any());
+    }
+
+    @Test
+    void export_writesNdjsonWithoutMissingFuels() throws IOException {
+        // given
+        stubUpstream();
+        OffsetDateTime from = OffsetDateTime.parse("2025-03-01T00:00Z");
+
+        // when
+        String ndjson = write(slotExporter.prepare(from, from.plusMinutes(30), ExportFormat.NDJSON));
+
+        // then
+        assertEquals("{\"from\":\"2025-03-01T00:00Z\",\"to\":\"2025-03-01T00:30Z\","
+                + "\"generationmix\":{\"gas\":40.0,\"wind\":60.0}}\n", ndjson);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_resumesAfterLastWrittenSlot_whenPageFailsMidway() throws IOException {
+        // given
+        OffsetDateTime from = OffsetDateTime.parse("2025-03-01T00:00Z");
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            Consumer<GenerationData> consumer = invocation.getArgument(2, Consumer.class);
+            int slots = calls.incrementAndGet() == 1 ? 3 : 6;
+            for(int i = 0; i < slots; i++) {
+                OffsetDateTime slot = from.plusMinutes(30L * i);
+                consumer.accept(new GenerationData(slot.toString(), slot.plusMinutes(30).toString(), List.of()));
+            }
+            if(calls.get() == 1) {
+                throw new ExternalApiException("Connection reset");
+            }
+            return null;
+        }).when(carbonIntensityClient).streamGenerationMix(anyString(), anyString(), any());
+
+        // when
+        String csv = write(slotExporter.prepare(from, from.plusHours(3), ExportFormat.CSV));
+
+        // then
+        assertThat(csv.lines().skip(1).map(line -> line.substring(0, line.indexOf(','))))
+                .containsExactly("2025-03-01T00:00Z", "2025-03-01T00:30Z", "2025-03-01T01:00Z",
+                        "2025-03-01T01:30Z", "2025-03-01T02:00Z", "2025-03-01T02:30Z");
+    }
+
+    @Test
+    void prepare_rejectsInvalidRangesAndTooManyConcurrentExports() throws IOException {
+        // given
+        stubUpstream();
+        OffsetDateTime from = OffsetDateTime.parse("2025-03-01T00:00Z");
+
+        // when
+        SlotExporter.Export export = slotExporter.prepare(from, from.plusHours(1), ExportFormat.CSV);
+
+        // then
+        assertThatThrownBy(() -> slotExporter.prepare(from, from, ExportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> slotExporter.prepare(from, from.plusDays(32), ExportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> slotExporter.prepare(from, from.plusHours(1), ExportFormat.CSV))
+                .isInstanceOf(ServiceOverloadedException.class);
+        write(export);
+        export.close();
+        SlotExporter.Export next = slotExporter.prepare(from, from.plusHours(1), ExportFormat.CSV);
+        assertThatThrownBy(() -> slotExporter.prepare(from, from.plusHours(1), ExportFormat.CSV))
+                .isInstanceOf(ServiceOverloadedException.class);
+        next.close();
+    }
+
+    private static String write(final SlotExporter.Export export) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        export.writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    /* Like the upstream, every range also includes the slot ending at its start. */
+    @SuppressWarnings("unchecked")
+    private void stubUpstream() {
+        doAnswer(invocation -> {
+            OffsetDateTime slot = OffsetDateTime.parse(invocation.getArgument(0, String.class)).minusMinutes(30);
+            OffsetDateTime to = OffsetDateTime.parse(invocation.getArgument(1, String.class));
+            Consumer<GenerationData> consumer = invocation.getArgument(2, Consumer.class);
+            for(; slot.isBefore(to); slot = slot.plusMinutes(30)) {
+                consumer.accept(new GenerationData(slot.toString(), slot.plusMinutes(30).toString(),
+                        List.of(new Fuel(FuelType.WIND, 60.0), new Fuel(FuelType.GAS, 40.0))));
+            }
+            return null;
+        }).when(carbonIntensityClient).streamGenerationMix(anyString(), anyString(), any());
+    }
+}
@@ -0,0 +1,234 @@
+package com.energy_app.history;
+
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ForecastRevisionStoreTest {
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 12, 19, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final Instant OBSERVED = START.toInstant().minus(Duration.ofDays(1));
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void record_keepsOnlyChangedVersions_inOrder() throws Exception {
+        // given
+        try(ForecastRevisionStore store = store(DataSize.ofMegabytes(1))) {
+
+            // when
+            store.record(List.of(slot(0, 60.0, 40.0)), OBSERVED);
+            store.record(List.of(slot(0, 60.0, 40.0)), OBSERVED.plusSeconds(1800));
+            store.record(List.of(slot(0, 62.5, 37.5)), OBSERVED.plusSeconds(3600));
+
+            // then
+            List<Revision> timeline = store.timeline(START);
+            assertEquals(2, timeline.size());
+            assertEquals(OBSERVED, timeline.get(0).observedAt());
+            assertEquals(Map.of(FuelType.WIND, 60.0, FuelType.GAS, 40.0), timeline.get(0).percentages());
+            assertEquals(OBSERVED.plusSeconds(3600), timeline.get(1).observedAt());
+            assertEquals(Map.of(FuelType.WIND, 62.5, FuelType.GAS, 37.5), timeline.get(1).percentages());
+        }
+    }
+
+    @Test
+    void record_spillsEarliestSlots_andKeepsTimelinesComplete() throws Exception {
+        // given
+        try(ForecastRevisionStore store = store(DataSize.ofKilobytes(32))) {
+            List<List<GenerationData>> snapshots = revisedSnapshots(200, 10);
+
+            // when
+            for(int r = 0; r < snapshots.size(); r++) {
+                store.record(snapshots.get(r), OBSERVED.plusSeconds(1800L * r));
+            }
+
+            // then
+            assertTrue(store.memoryBytes() <= DataSize.ofKilobytes(32).toBytes(), "memory: " + store.memoryBytes());
+            assertTrue(store.spilledSlotCount() > 0, "spilled: " + store.spilledSlotCount());
+            assertTrue(Files.size(spillFile()) > 0);
+            for(int s = 0; s < 200; s++) {
+                List<Revision> timeline = store.timeline(START.plusMinutes(30L * s));
+                assertEquals(10, timeline.size());
+                assertEquals(percentages(snapshots.get(9).get(s)), timeline.get(9).percentages());
+            }
+        }
+        assertTrue(isEmpty(tempDir));
+    }
+
+    @Test
+    void storesSharingASpillDirectory_doNotCorruptEachOther() throws Exception {
+        // given
+        List<List<GenerationData>> snapshots = revisedSnapshots(200, 10);
+        try(ForecastRevisionStore first = store(DataSize.ofKilobytes(32))) {
+            ForecastRevisionStore second = store(DataSize.ofKilobytes(32));
+
+            // when
+            for(int r = 0; r < snapshots.size(); r++) {
+                first.record(snapshots.get(r), OBSERVED.plusSeconds(1800L * r));
+                second.record(snapshots.get(r), OBSERVED.plusSeconds(1800L * r));
+            }
+            second.close();
+
+            // then
+            assertTrue(first.spilledSlotCount() > 0, "spilled: " + first.spilledSlotCount());
+            for(int s = 0; s < 200; s++) {
+                List<Revision> timeline = first.timeline(START.plusMinutes(30L * s));
+                assertEquals(10, timeline.size());
+                assertEquals(percentages(snapshots.get(9).get(s)), timeline.get(9).percentages());
+            }
+        }
+    }
+
+    @Test
+    void failedCompaction_leavesStoreUsable() throws Exception {
+        // given
+        int slots = 2000;
+        Path spillDirectory = tempDir.resolve("spill");
+        List<List<GenerationData>> snapshots = revisedSnapshots(slots, 20);
+        try(ForecastRevisionStore store = new ForecastRevisionStore(DataSize.ofKilobytes(32), spillDirectory,
+                Duration.ofDays(1))) {
+            for(int r = 0; r < snapshots.size(); r++) {
+                store.record(snapshots.get(r), OBSERVED.plusSeconds(1800L * r));
+            }
+            assertTrue(spilledBytes(spillDirectory) >= 1 << 20, "spilled bytes: " + spilledBytes(spillDirectory));
+            /* The open spill file keeps working once unlinked, but no new file can be created next to it. */
+            deleteRecursively(spillDirectory);
+
+            // when
+            Instant evicting = START.plusMinutes(30L * slots * 3 / 4).plus(Duration.ofDays(1)).toInstant();
+            List<GenerationData> remaining = snapshots.get(19).subList(slots * 3 / 4, slots);
+            assertThrows(UncheckedIOException.class, () -> store.record(new ArrayList<>(remaining), evicting));
+
+            // then
+            assertTimelinesComplete(store, snapshots, slots * 3 / 4, slots);
+            Files.createDirectories(spillDirectory);
+            store.record(new ArrayList<>(remaining), evicting);
+            assertTimelinesComplete(store, snapshots, slots * 3 / 4, slots);
+            assertTrue(spilledBytes(spillDirectory) < 1 << 20, "spilled bytes: " + spilledBytes(spillDirectory));
+        }
+    }
+
+    /* A 48-hour horizon revised every half hour for a day: nine fuels drifting by up to half a percent. */
+    @Test
+    void memoryPerSlot_staysSmall() throws Exception {
+        // given
+        int slots = 96;
+        int revisions = 48;
+        try(ForecastRevisionStore store = store(DataSize.ofMegabytes(64))) {
+            List<List<GenerationData>> snapshots = revisedSnapshots(slots, revisions);
+
+            // when
+            for(int r = 0; r < revisions; r++) {
+                store.record(snapshots.get(r), OBSERVED.plusSeconds(1800L * r));
+            }
+
+            // then
+            long bytesPerSlot = store.memoryBytes() / slots;
+            assertEquals(slots, store.inMemorySlotCount());
+            assertTrue(bytesPerSlot < 800, "bytes per slot: " + bytesPerSlot);
+        }
+    }
+
+    private ForecastRevisionStore store(DataSize maxMemory) {
+        return new ForecastRevisionStore(maxMemory, tempDir, Duration.ofDays(7));
+    }
+
+    private Path spillFile() throws IOException {
+        try(Stream<Path> files = Files.list(tempDir)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private static void assertTimelinesComplete(ForecastRevisionStore store, List<List<GenerationData>> snapshots,
+                                                int fromSlot, int toSlot) {
+        List<GenerationData> latest = snapshots.get(snapshots.size() - 1);
+        for(int s = fromSlot; s < toSlot; s++) {
+            List<Revision> timeline = store.timeline(START.plusMinutes(30L * s));
+            assertEquals(snapshots.size(), timeline.size());
+            assertEquals(percentages(latest.get(s)), timeline.get(timeline.size() - 1).percentages());
+        }
+    }
+
+    private static long spilledBytes(Path directory) throws IOException {
+        try(Stream<Path> files = Files.list(directory)) {
+            long bytes = 0;
+            for(Path file : files.toList()) {
+                bytes += Files.size(file);
+            }
+            return bytes;
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try(Stream<Path> files = Files.list(directory)) {
+            for(Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private static boolean isEmpty(Path directory) throws IOException {
+        try(Stream<Path> files = Files.list(directory)) {
+            return files.findAny().isEmpty();
+        }
+    }
+
+    private static List<List<GenerationData>> revisedSnapshots(int slots, int revisions) {
+        double[][] values = new double[slots][FUEL_TYPES.length];
+        for(int s = 0; s < slots; s++) {
+            for(int f = 0; f < FUEL_TYPES.length; f++) {
+                values[s][f] = 5.0 + (s * 7 + f * 3) % 20;
+            }
+        }
+
+        List<List<GenerationData>> snapshots = new ArrayList<>(revisions);
+        for(int r = 0; r < revisions; r++) {
+            List<GenerationData> snapshot = new ArrayList<>(slots);
+            for(int s = 0; s < slots; s++) {
+                List<Fuel> fuels = new ArrayList<>(FUEL_TYPES.length);
+                for(int f = 0; f < FUEL_TYPES.length; f++) {
+                    values[s][f] = Math.round((values[s][f] + ((r + s + f) % 11 - 5) / 10.0) * 10.0) / 10.0;
+                    fuels.add(new Fuel(FUEL_TYPES[f], values[s][f]));
+                }
+                OffsetDateTime from = START.plusMinutes(30L * s);
+                snapshot.add(new GenerationData(from.toString(), from.plusMinutes(30).toString(), fuels));
+            }
+            snapshots.add(snapshot);
+        }
+        return snapshots;
+    }
+
+    private static GenerationData slot(int index, double wind, double gas) {
+        OffsetDateTime from = START.plusMinutes(30L * index);
+        return new GenerationData(from.toString(), from.plusMinutes(30).toString(),
+                List.of(new Fuel(FuelType.WIND, wind), new Fuel(FuelType.GAS, gas)));
+    }
+
+    private static Map<FuelType, Double> percentages(GenerationData generationData) {
+        Map<FuelType, Double> percentages = new java.util.EnumMap<>(FuelType.class);
+        generationData.generationMix().forEach(fuel -> percentages.put(fuel.fuelType(), fuel.percentage()));
+        return percentages;
+    }
+}
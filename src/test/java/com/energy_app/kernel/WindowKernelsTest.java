@@ -0,0 +1,110 @@
+package com.energy_app.kernel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/* Surefire runs with --add-modules jdk.incubator.vector, so select(true) returns the vectorized kernels here.
+  Lengths that are not multiples of the vector width exercise the scalar tails. */
+public class WindowKernelsTest {
+    private static final double TOLERANCE = 1e-9;
+    private static final int[] LENGTHS = {0, 1, 3, 7, 8, 13, 96, 97, 1441};
+
+    private final WindowKernels scalar = WindowKernels.scalar();
+    private final WindowKernels vector = WindowKernels.select(true);
+
+    @Test
+    void select_returnsVectorizedKernels_whenModuleIsPresent() {
+        // then
+        assertNotSame(scalar, vector);
+        assertEquals(scalar, WindowKernels.select(false));
+    }
+
+    @Test
+    void sumColumns_matchesScalar() {
+        for(int length : LENGTHS) {
+            // given
+            double[][] columns = {randomValues(length, 1), randomValues(length, 2), randomValues(length, 3)};
+            int[] selected = {0, 2};
+            double[] expected = new double[length];
+            double[] actual = new double[length];
+
+            // when
+            scalar.sumColumns(columns, selected, length, expected);
+            vector.sumColumns(columns, selected, length, actual);
+
+            // then
+            assertArrayEquals(expected, actual, TOLERANCE);
+        }
+    }
+
+    @Test
+    void prefixSum_matchesScalar() {
+        for(int length : LENGTHS) {
+            // given
+            double[] values = randomValues(length, 4);
+            double[] expected = new double[length + 1];
+            double[] actual = new double[length + 1];
+
+            // when
+            scalar.prefixSum(values, length, expected);
+            vector.prefixSum(values, length, actual);
+
+            // then
+            assertArrayEquals(expected, actual, TOLERANCE * (length + 1));
+        }
+    }
+
+    @Test
+    void windowDifferences_matchesScalar() {
+        for(int length : LENGTHS) {
+            for(int window = 1; window <= Math.min(length, 12); window++) {
+                // given
+                double[] prefix = new double[length + 1];
+                scalar.prefixSum(randomValues(length, 5), length, prefix);
+                int count = length - window + 1;
+                double[] expected = new double[count];
+                double[] actual = new double[count];
+
+                // when
+                scalar.windowDifferences(prefix, window, 1.0 / window, count, expected);
+                vector.windowDifferences(prefix, window, 1.0 / window, count, actual);
+
+                // then
+                assertArrayEquals(expected, actual, TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    void argMax_returnsFirstMaximum() {
+        for(int length : LENGTHS) {
+            // given
+            double[] values = randomValues(length, 6);
+
+            // when & then
+            assertEquals(scalar.argMax(values, length), vector.argMax(values, length));
+        }
+
+        // given
+        double[] ties = {1.0, 5.0, 2.0, 5.0, 0.0, 5.0, 3.0, 4.0, 5.0};
+
+        // when & then
+        assertEquals(1, scalar.argMax(ties, ties.length));
+        assertEquals(1, vector.argMax(ties, ties.length));
+        assertEquals(-1, vector.argMax(ties, 0));
+    }
+
+    private static double[] randomValues(int length, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[length];
+        for(int i = 0; i < length; i++) {
+            values[i] = Math.round(random.nextDouble() * 1000.0) / 10.0;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,111 @@
+package com.energy_app.profiling;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JfrEndpointTest {
+    private final JfrEndpoint endpoint = new JfrEndpoint();
+
+    @AfterEach
+    void tearDown() {
+        endpoint.recordings().forEach(recording -> endpoint.stop(recording.id()));
+    }
+
+    @Test
+    void dump_deletesFile_afterItHasBeenStreamed() throws Exception {
+        // given
+        long id = endpoint.start("stages", null).id();
+
+        // when
+        Resource dump = endpoint.dump(id).getBody();
+        Path file = dump.getFile().toPath();
+        assertTrue(Files.exists(file));
+        try(InputStream stream = dump.getInputStream()) {
+            stream.readAllBytes();
+        }
+
+        // then
+        assertTrue(Files.notExists(file));
+        assertEquals(1, endpoint.recordings().size());
+    }
+
+    @Test
+    void recordings_dropsRecordingClosedElsewhere() {
+        // given
+        long id = endpoint.start("stages", null).id();
+
+        // when
+        recording(id).close();
+
+        // then
+        assertTrue(endpoint.recordings().isEmpty());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.dump(id).getStatus());
+    }
+
+    @Test
+    void dump_discardsRecordingThatStoppedOnItsOwn() throws Exception {
+        // given
+        long id = endpoint.start("stages", null).id();
+        Recording recording = recording(id);
+        recording.stop();
+
+        // when
+        Resource dump = endpoint.dump(id).getBody();
+        try(InputStream stream = dump.getInputStream()) {
+            stream.readAllBytes();
+        }
+
+        // then
+        assertEquals(RecordingState.CLOSED, recording.getState());
+        assertTrue(endpoint.recordings().isEmpty());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.dump(id).getStatus());
+    }
+
+    @Test
+    void dump_deletesFile_whenRecordingCannotBeDumped() throws Exception {
+        // given
+        long id = Long.MAX_VALUE;
+        Recording recording = mock(Recording.class);
+        when(recording.getId()).thenReturn(id);
+        when(recording.getState()).thenReturn(RecordingState.RUNNING);
+        doThrow(new IOException("disk full")).when(recording).dump(any(Path.class));
+        endpoint.track(recording);
+
+        // when
+        assertThrows(UncheckedIOException.class, () -> endpoint.dump(id));
+
+        // then
+        try(DirectoryStream<Path> dumps = Files.newDirectoryStream(JfrEndpoint.DUMP_DIRECTORY,
+                JfrEndpoint.dumpPrefix(id) + "*.jfr")) {
+            assertFalse(dumps.iterator().hasNext());
+        }
+    }
+
+    private static Recording recording(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,77 @@
+package com.energy_app.profiling;
+
+import com.energy_app.client.CarbonIntensityClient;
+import com.energy_app.config.CleanFuels;
+import com.energy_app.history.ForecastRevisionStore;
+import com.energy_app.kernel.WindowKernels;
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.CarbonIntensityResponse;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import com.energy_app.service.EnergyServiceImpl;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StageEventsTest {
+    @Mock
+    private CarbonIntensityClient carbonIntensityClient;
+    @Mock
+    private ForecastRevisionStore forecastRevisionStore;
+
+    @Test
+    void findOptimalChargingWindow_emitsFetchAndWindowEvents(@TempDir Path tempDir) throws Exception {
+        // given
+        EnergyServiceImpl energyService = new EnergyServiceImpl(carbonIntensityClient, WindowKernels.scalar(),
+                forecastRevisionStore, event -> {}, 3, 48);
+        when(carbonIntensityClient.isCached(anyString(), anyString())).thenReturn(true);
+        when(carbonIntensityClient.fetchGenerationMix(anyString(), anyString()))
+                .thenReturn(new CarbonIntensityResponse(List.of(
+                        slot("2025-12-19T00:00+01:00", "2025-12-19T00:30+01:00", 80.0),
+                        slot("2025-12-19T00:30+01:00", "2025-12-19T01:00+01:00", 60.0),
+                        slot("2025-12-19T01:00+01:00", "2025-12-19T01:30+01:00", 20.0)
+                )));
+        Path file = tempDir.resolve("stages.jfr");
+
+        // when
+        try(Recording recording = new Recording()) {
+            recording.enable(GenerationMixFetchEvent.class);
+            recording.enable(OptimalWindowEvent.class);
+            recording.start();
+            energyService.findOptimalChargingWindow(1, CleanFuels.CLEAN);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // then
+        Map<String, RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .collect(Collectors.toMap(e -> e.getEventType().getName(), Function.identity(), (a, b) -> a));
+        RecordedEvent fetch = events.get("com.energy_app.GenerationMixFetch");
+        RecordedEvent window = events.get("com.energy_app.OptimalWindow");
+        assertTrue(fetch.getBoolean("cacheHit"));
+        assertEquals(3, fetch.getInt("intervalCount"));
+        assertEquals(2, window.getInt("windowSize"));
+        assertTrue(window.getBoolean("prefixSumsRebuilt"));
+    }
+
+    private static GenerationData slot(String from, String to, double wind) {
+        return new GenerationData(from, to, List.of(new Fuel(FuelType.WIND, wind), new Fuel(FuelType.GAS, 100.0 - wind)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.energy_app.service;
+
+import com.energy_app.model.enumeration.FuelType;
+import com.energy_app.model.external.Fuel;
+import com.energy_app.model.external.GenerationData;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DailyMixAggregatesTest {
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 19);
+
+    @Test
+    void upsert_replacesContributionOfRevisedSlot() {
+        // given
+        DailyMixAggregates aggregates = new DailyMixAggregates();
+        aggregates.upsert(slot("2025-12-19T00:00Z", 60.0, 40.0));
+        aggregates.upsert(slot("2025-12-19T00:30Z", 80.0, 20.0));
+
+        // when
+        boolean changed = aggregates.upsert(slot("2025-12-19T00:30Z", 40.0, 60.0));
+
+        // then
+        Map<FuelType, Double> averages = aggregates.averages(DAY, DAY.plusDays(1)).get(DAY);
+        assertTrue(changed);
+        assertEquals(50.0, averages.get(FuelType.WIND));
+        assertEquals(50.0, averages.get(FuelType.GAS));
+    }
+
+    @Test
+    void upsert_skipsUnchangedSlot() {
+        // given
+        DailyMixAggregates aggregates = new DailyMixAggregates();
+        aggregates.upsert(slot("2025-12-19T00:00Z", 60.0, 40.0));
+
+        // when
+        boolean changed = aggregates.upsert(slot("2025-12-19T00:00Z", 60.0, 40.0));
+
+        // then
+        assertFalse(changed);
+        assertEquals(60.0, aggregates.averages(DAY, DAY.plusDays(1)).get(DAY).get(FuelType.WIND));
+    }
+
+    @Test
+    void apply_groupsSlotsByDay_andEvictBeforeDropsPastDays() {
+        // given
+        DailyMixAggregates aggregates = new DailyMixAggregates();
+        aggregates.apply(List.of(
+                slot("2025-12-18T23:30Z", 10.0, 90.0),
+                slot("2025-12-19T00:00Z", 60.0, 40.0),
+                slot("2025-12-20T00:00Z", 20.0, 80.0)
+        ));
+
+        // when
+        aggregates.evictBefore(DAY);
+
+        // then
+        Map<LocalDate, Map<FuelType, Double>> averages = aggregates.averages(DAY.minusDays(1), DAY.plusDays(2));
+        assertEquals(List.of(DAY, DAY.plusDays(1)), List.copyOf(averages.keySet()));
+        assertEquals(20.0, averages.get(DAY.plusDays(1)).get(FuelType.WIND));
+    }
+
+    private static GenerationData slot(String from, double wind, double gas) {
+        return new GenerationData(from, from,
+                List.of(new Fuel(FuelType.WIND, wind), new Fuel(FuelType.GAS, gas)));
+    }
+}
@@ -1,7 +1,11 @@
 package com.energy_app.service;
 
 import com.energy_app.client.CarbonIntensityClient;
+import com.energy_app.config.CleanFuels;
 import com.energy_app.exception.ExternalApiException;
+import com.energy_app.history.ForecastRevisionStore;
+import com.energy_app.kernel.WindowKernels;
+import com.energy_app.model.dto.CleanShareHeatmapDto;
 import com.energy_app.model.dto.DailyMixDto;
 import com.energy_app.model.dto.OptimalWindowDto;
 import com.energy_app.model.enumeration.FuelType;
@@ -11,13 +15,20 @@ import com.energy_app.model.external.GenerationData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -27,6 +38,8 @@ import static org.mockito.Mockito.when;
 public class EnergyServiceImplTest {
     @Mock
     private CarbonIntensityClient carbonIntensityClient;
+    @Mock
+    private ForecastRevisionStore forecastRevisionStore;
 
     private EnergyServiceImpl energyService;
 
@@ -34,7 +47,8 @@ public class EnergyServiceImplTest {
     void setUp() {
         int generationMixDays = 3;
         int searchWindowHours = 48;
-        energyService = new EnergyServiceImpl(carbonIntensityClient, generationMixDays, searchWindowHours);
+        energyService = new EnergyServiceImpl(carbonIntensityClient, WindowKernels.scalar(), forecastRevisionStore,
+                event -> {}, generationMixDays, searchWindowHours);
     }
 
     @Test
@@ -57,13 +71,40 @@ public class EnergyServiceImplTest {
                 .thenReturn(new CarbonIntensityResponse(List.of(i1, i2)));
 
         // when
-        List<DailyMixDto> result = energyService.getGenerationMix();
+        List<DailyMixDto> result = energyService.getGenerationMix(CleanFuels.CLEAN);
 
         // then
         assertFalse(result.isEmpty());
         assertEquals(70.0, result.get(0).cleanEnergyPercentage());
     }
 
+    @Test
+    void getGenerationMix_succeeds_whenRevisionHistoryCannotSpill(@TempDir Path tempDir) throws Exception {
+        // given
+        Path notADirectory = Files.createFile(tempDir.resolve("not-a-directory"));
+        String d = LocalDate.now().toString();
+        GenerationData i1 = new GenerationData(
+                d + "T00:00+01:00",
+                d + "T00:30+01:00",
+                List.of(new Fuel(FuelType.WIND, 60.0), new Fuel(FuelType.GAS, 40.0))
+        );
+
+        when(carbonIntensityClient.fetchGenerationMix(anyString(), anyString()))
+                .thenReturn(new CarbonIntensityResponse(List.of(i1)));
+
+        try(ForecastRevisionStore unwritableStore = new ForecastRevisionStore(DataSize.ofBytes(1),
+                notADirectory, Duration.ofDays(7))) {
+            EnergyServiceImpl service = new EnergyServiceImpl(carbonIntensityClient, WindowKernels.scalar(),
+                    unwritableStore, event -> {}, 3, 48);
+
+            // when
+            List<DailyMixDto> result = service.getGenerationMix(CleanFuels.CLEAN);
+
+            // then
+            assertEquals(60.0, result.get(0).cleanEnergyPercentage());
+            assertEquals(1, unwritableStore.inMemorySlotCount());
+        }
+    }
 
     @Test
     void findOptimalChargingWindow_picksBestIntervals_forRequest() {
@@ -90,12 +131,101 @@ public class EnergyServiceImplTest {
                 .thenReturn(new CarbonIntensityResponse(List.of(i0, i1, i2)));
 
         // when
-        OptimalWindowDto result = energyService.findOptimalChargingWindow(numberOfHours);
+        OptimalWindowDto result = energyService.findOptimalChargingWindow(numberOfHours, CleanFuels.CLEAN);
 
         // then
         assertEquals(new OptimalWindowDto(i0.from(), i0.to(), 80.0), result);
     }
 
+    @Test
+    void findOptimalChargingWindow_usesCustomCleanFuels() {
+        // given
+        int numberOfHours = 1;
+
+        GenerationData i0 = new GenerationData(
+                "2025-12-19T00:00+01:00",
+                "2025-12-19T00:30+01:00",
+                List.of(new Fuel(FuelType.WIND, 80.0), new Fuel(FuelType.NUCLEAR, 10.0))
+        );
+        GenerationData i1 = new GenerationData(
+                "2025-12-19T00:30+01:00",
+                "2025-12-19T01:00+01:00",
+                List.of(new Fuel(FuelType.WIND, 20.0), new Fuel(FuelType.NUCLEAR, 70.0))
+        );
+        GenerationData i2 = new GenerationData(
+                "2025-12-19T01:00+01:00",
+                "2025-12-19T01:30+01:00",
+                List.of(new Fuel(FuelType.WIND, 10.0), new Fuel(FuelType.NUCLEAR, 90.0))
+        );
+
+        when(carbonIntensityClient.fetchGenerationMix(anyString(), anyString()))
+                .thenReturn(new CarbonIntensityResponse(List.of(i0, i1, i2)));
+
+        // when
+        OptimalWindowDto windOnly = energyService.findOptimalChargingWindow(numberOfHours, EnumSet.of(FuelType.WIND));
+        OptimalWindowDto nuclearOnly = energyService.findOptimalChargingWindow(numberOfHours,
+                EnumSet.of(FuelType.NUCLEAR));
+
+        // then
+        assertEquals(new OptimalWindowDto(i0.from(), i1.to(), 50.0), windOnly);
+        assertEquals(new OptimalWindowDto(i1.from(), i2.to(), 80.0), nuclearOnly);
+    }
+
+    @Test
+    void getGenerationMix_usesCustomCleanFuels() {
+        // given
+        String d = LocalDate.now().toString();
+
+        GenerationData i1 = new GenerationData(
+                d + "T00:00+01:00",
+                d + "T00:30+01:00",
+                List.of(new Fuel(FuelType.WIND, 60.0), new Fuel(FuelType.NUCLEAR, 40.0))
+        );
+
+        when(carbonIntensityClient.fetchGenerationMix(anyString(), anyString()))
+                .thenReturn(new CarbonIntensityResponse(List.of(i1)));
+
+        // when
+        List<DailyMixDto> result = energyService.getGenerationMix(EnumSet.of(FuelType.NUCLEAR));
+
+        // then
+        assertEquals(40.0, result.get(0).cleanEnergyPercentage());
+    }
+
+    @Test
+    void getCleanShareHeatmap_averagesEveryStartAndDuration() {
+        // given
+        GenerationData i0 = new GenerationData(
+                "2025-12-19T00:00+01:00",
+                "2025-12-19T00:30+01:00",
+                List.of(new Fuel(FuelType.WIND, 80.0), new Fuel(FuelType.GAS, 20.0))
+        );
+        GenerationData i1 = new GenerationData(
+                "2025-12-19T00:30+01:00",
+                "2025-12-19T01:00+01:00",
+                List.of(new Fuel(FuelType.WIND, 90.0), new Fuel(FuelType.GAS, 10.0))
+        );
+        GenerationData i2 = new GenerationData(
+                "2025-12-19T01:00+01:00",
+                "2025-12-19T01:30+01:00",
+                List.of(new Fuel(FuelType.WIND, 10.0), new Fuel(FuelType.GAS, 90.0))
+        );
+
+        when(carbonIntensityClient.fetchGenerationMix(anyString(), anyString()))
+                .thenReturn(new CarbonIntensityResponse(List.of(i0, i1, i2)));
+
+        // when
+        CleanShareHeatmapDto heatmap = energyService.getCleanShareHeatmap(CleanFuels.CLEAN);
+
+        // then
+        assertEquals(List.of(i0.from(), i1.from(), i2.from()), heatmap.slotStarts());
+        assertEquals(3, heatmap.rows().size());
+        assertEquals(30, heatmap.rows().get(0).durationMinutes());
+        assertArrayEquals(new double[]{80.0, 90.0, 10.0}, heatmap.rows().get(0).averages());
+        assertArrayEquals(new double[]{85.0, 50.0}, heatmap.rows().get(1).averages());
+        assertArrayEquals(new double[]{60.0}, heatmap.rows().get(2).averages());
+    }
+
     @Test
     void shouldThrowException_whenApiReturnsNull() {
         // given
@@ -103,7 +233,7 @@ public class EnergyServiceImplTest {
         when(carbonIntensityClient.fetchGenerationMix(anyString(), anyString())).thenReturn(null);
 
         // when & then
-        assertThatThrownBy(() -> energyService.findOptimalChargingWindow(numberOfHours))
+        assertThatThrownBy(() -> energyService.findOptimalChargingWindow(numberOfHours, CleanFuels.CLEAN))
                 .isInstanceOf(ExternalApiException.class);
     }
 }
@@ -0,0 +1,111 @@
+package com.energy_app.warmup;
+
+import com.energy_app.config.CleanFuels;
+import com.energy_app.exception.ExternalApiException;
+import com.energy_app.service.EnergyService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Status;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class WarmUpRunnerTest {
+    @Mock
+    private EnergyService energyService;
+
+    @Test
+    void run_becomesReady_afterAllIterations() {
+        // given
+        WarmUpRunner runner = new WarmUpRunner(energyService, true, 12, Duration.ofSeconds(30), true,
+                Duration.ofMillis(1), Duration.ofMillis(4));
+        WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(runner);
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+        // when
+        runner.run();
+
+        // then
+        assertTrue(runner.isReady());
+        assertEquals(WarmUpRunner.State.COMPLETED, runner.getState());
+        assertEquals(Status.UP, indicator.health().getStatus());
+        verify(energyService, times(12)).getGenerationMix(CleanFuels.CLEAN);
+        verify(energyService, times(2)).findOptimalChargingWindow(6, CleanFuels.CLEAN);
+    }
+
+    @Test
+    void run_staysOutOfService_whenUpstreamFailsAndFallbackDisabled() {
+        // given
+        when(energyService.getGenerationMix(CleanFuels.CLEAN)).thenThrow(new ExternalApiException("down"));
+        WarmUpRunner runner = new WarmUpRunner(energyService, true, 12, Duration.ofSeconds(30), false,
+                Duration.ofMillis(1), Duration.ofMillis(4));
+
+        // when
+        runner.run();
+
+        // then
+        assertEquals(WarmUpRunner.State.FAILED, runner.getState());
+        assertFalse(runner.isReady());
+        verify(energyService, times(0)).findOptimalChargingWindow(anyInt(), eq(CleanFuels.CLEAN));
+    }
+
+    @Test
+    void run_fallsBackToReady_whenUpstreamFails() {
+        // given
+        when(energyService.getGenerationMix(CleanFuels.CLEAN)).thenThrow(new ExternalApiException("down"));
+        WarmUpRunner runner = new WarmUpRunner(energyService, true, 12, Duration.ofSeconds(30), true,
+                Duration.ofMillis(1), Duration.ofMillis(4));
+
+        // when
+        runner.run();
+
+        // then
+        assertTrue(runner.isReady());
+    }
+
+    @Test
+    void runUntilReady_retriesAfterTransientFailure_whenFallbackDisabled() {
+        // given
+        when(energyService.getGenerationMix(CleanFuels.CLEAN))
+                .thenThrow(new ExternalApiException("down"))
+                .thenThrow(new ExternalApiException("still down"))
+                .thenReturn(List.of());
+        WarmUpRunner runner = new WarmUpRunner(energyService, true, 3, Duration.ofSeconds(30), false,
+                Duration.ofMillis(1), Duration.ofMillis(4));
+
+        // when
+        runner.runUntilReady();
+
+        // then
+        assertEquals(WarmUpRunner.State.COMPLETED, runner.getState());
+        assertTrue(runner.isReady());
+        verify(energyService, times(5)).getGenerationMix(CleanFuels.CLEAN);
+    }
+
+    @Test
+    void runUntilReady_doesNotRetry_whenFailureCountsAsReady() {
+        // given
+        when(energyService.getGenerationMix(CleanFuels.CLEAN)).thenThrow(new ExternalApiException("down"));
+        WarmUpRunner runner = new WarmUpRunner(energyService, true, 3, Duration.ofSeconds(30), true,
+                Duration.ofMillis(1), Duration.ofMillis(4));
+
+        // when
+        runner.runUntilReady();
+
+        // then
+        assertEquals(WarmUpRunner.State.FAILED, runner.getState());
+        verify(energyService, times(1)).getGenerationMix(CleanFuels.CLEAN);
+    }
+}